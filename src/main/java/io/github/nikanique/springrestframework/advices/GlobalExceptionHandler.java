@@ -3,10 +3,12 @@ package io.github.nikanique.springrestframework.advices;
 
 import io.github.nikanique.springrestframework.exceptions.BadRequestException;
 import io.github.nikanique.springrestframework.exceptions.BaseException;
+import io.github.nikanique.springrestframework.exceptions.PayloadTooLargeException;
 import io.github.nikanique.springrestframework.exceptions.UnauthorizedException;
 import io.github.nikanique.springrestframework.exceptions.ValidationException;
 import io.github.nikanique.springrestframework.web.responses.ErrorResponse;
 import io.github.nikanique.springrestframework.web.responses.ValidationErrorResponse;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -27,5 +29,21 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(errorResponse, HttpStatus.FORBIDDEN);
     }
 
+    @ExceptionHandler({PayloadTooLargeException.class})
+    public ResponseEntity<ErrorResponse> handlePayloadTooLargeException(BaseException ex) {
+        ErrorResponse errorResponse = new ErrorResponse(ex.getMessage());
+        return new ResponseEntity<>(errorResponse, HttpStatus.PAYLOAD_TOO_LARGE);
+    }
+
+    /**
+     * Constraint violations raised by the database, e.g. references to ids that do not exist when referenced models
+     * are attached without loading them.
+     */
+    @ExceptionHandler({DataIntegrityViolationException.class})
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolationException(DataIntegrityViolationException ex) {
+        ErrorResponse errorResponse = new ErrorResponse("The request conflicts with the stored data.");
+        return new ResponseEntity<>(errorResponse, HttpStatus.CONFLICT);
+    }
+
 }
 
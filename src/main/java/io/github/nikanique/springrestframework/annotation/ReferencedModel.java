@@ -1,5 +1,7 @@
 package io.github.nikanique.springrestframework.annotation;
 
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 
@@ -8,4 +10,6 @@ public @interface ReferencedModel {
     String model();
 
     String referencingField();
+
+    ReferenceLoading loading() default ReferenceLoading.DEFAULT;
 }
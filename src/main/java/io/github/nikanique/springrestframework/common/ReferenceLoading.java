@@ -0,0 +1,34 @@
+package io.github.nikanique.springrestframework.common;
+
+import io.github.nikanique.springrestframework.annotation.ReferencedModel;
+
+/**
+ * How the entity of a {@link ReferencedModel} id is attached to the written entity.
+ */
+public enum ReferenceLoading {
+    /**
+     * Use the application wide setting, the srf.referenced-model.loading property, which defaults to FIND.
+     */
+    DEFAULT,
+    /**
+     * Load the referenced entity with a SELECT, invalid ids are rejected before writing.
+     */
+    FIND,
+    /**
+     * Attach a lazy proxy without loading the referenced entity, invalid ids are detected by the foreign key
+     * constraint when the written entity is flushed.
+     */
+    REFERENCE;
+
+    public static final String PROPERTY = "srf.referenced-model.loading";
+
+    /**
+     * @param referencedModel The annotation of the referencing field
+     * @param defaultLoading  The application wide setting
+     * @return Whether the referenced entity is attached as a proxy
+     */
+    public static boolean useReference(ReferencedModel referencedModel, ReferenceLoading defaultLoading) {
+        ReferenceLoading loading = referencedModel.loading() == DEFAULT ? defaultLoading : referencedModel.loading();
+        return loading == REFERENCE;
+    }
+}
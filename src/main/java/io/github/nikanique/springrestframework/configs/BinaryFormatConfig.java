@@ -0,0 +1,37 @@
+package io.github.nikanique.springrestframework.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nikanique.springrestframework.serializer.BinaryFormats;
+import io.github.nikanique.springrestframework.serializer.Serializer;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Registers CBOR and Smile message converters, so that generic endpoints encode their responses in a binary
+ * format when the client sends "Accept: application/cbor" or "Accept: application/x-jackson-smile".
+ * Each converter is only registered when its Jackson module (jackson-dataformat-cbor or jackson-dataformat-smile)
+ * is on the classpath, and shares the configuration (modules, features) of the application's ObjectMapper.
+ */
+@Configuration
+public class BinaryFormatConfig implements WebMvcConfigurer {
+    private final ObjectMapper objectMapper;
+
+    public BinaryFormatConfig(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        if (Serializer.CBOR_PRESENT && converters.stream().noneMatch(converter -> converter instanceof MappingJackson2CborHttpMessageConverter)) {
+            converters.add(new MappingJackson2CborHttpMessageConverter(BinaryFormats.cborMapper(objectMapper)));
+        }
+        if (Serializer.SMILE_PRESENT && converters.stream().noneMatch(converter -> converter instanceof MappingJackson2SmileHttpMessageConverter)) {
+            converters.add(new MappingJackson2SmileHttpMessageConverter(BinaryFormats.smileMapper(objectMapper)));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.nikanique.springrestframework.dto;
+
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+/**
+ * The lifecycle methods of a DTO class (validate, partial validate and postDeserialization), its compiled
+ * field validators and its post-bind fix-ups, resolved once per class. A handle is null if the DTO does not declare the method or the
+ * method is not accessible.
+ */
+@Getter
+public class DtoLifecycle {
+    private final MethodHandle validateMethodHandle;
+    private final MethodHandle partialValidateMethodHandle;
+    private final MethodHandle postDeserializationMethodHandle;
+    private final FieldValidator[] fieldValidators;
+    private final Set<String> validatedFieldNames;
+    private final PostBindFixup[] postBindFixups;
+
+    DtoLifecycle(Class<?> dtoClass, Map<String, FieldMetadata> fieldMetadata) {
+        List<FieldValidator> validators = new ArrayList<>();
+        for (Map.Entry<String, FieldMetadata> entry : fieldMetadata.entrySet()) {
+            if (entry.getValue().getValidation() != null) {
+                validators.add(new FieldValidator(entry.getKey(), entry.getValue().getGetterMethodHandle(), entry.getValue().getValidation()));
+            }
+        }
+        this.fieldValidators = validators.toArray(new FieldValidator[0]);
+        Set<String> fieldNames = new HashSet<>();
+        for (FieldValidator validator : fieldValidators) {
+            fieldNames.add(validator.getFieldName());
+        }
+        this.validatedFieldNames = Collections.unmodifiableSet(fieldNames);
+
+        List<PostBindFixup> fixups = new ArrayList<>();
+        for (Map.Entry<String, FieldMetadata> entry : fieldMetadata.entrySet()) {
+            PostBindFixup fixup = PostBindFixup.of(entry.getKey(), entry.getValue());
+            if (fixup != null) {
+                fixups.add(fixup);
+            }
+        }
+        this.postBindFixups = fixups.toArray(new PostBindFixup[0]);
+
+        this.validateMethodHandle = findMethod(dtoClass, "validate",
+                MethodType.methodType(Map.class, Boolean.class),
+                MethodType.methodType(void.class, Object.class, Boolean.class));
+        this.partialValidateMethodHandle = findMethod(dtoClass, "validate",
+                MethodType.methodType(Map.class, Set.class, Boolean.class),
+                MethodType.methodType(void.class, Object.class, Set.class, Boolean.class));
+        this.postDeserializationMethodHandle = findMethod(dtoClass, "postDeserialization",
+                MethodType.methodType(void.class, EntityManager.class),
+                MethodType.methodType(void.class, Object.class, EntityManager.class));
+    }
+
+    private static MethodHandle findMethod(Class<?> dtoClass, String name, MethodType methodType, MethodType invocationType) {
+        try {
+            return MethodHandles.lookup().findVirtual(dtoClass, name, methodType).asType(invocationType);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Applies the read-only, default value and required rules of the fields to a freshly bound DTO.
+     *
+     * @param dto The DTO
+     */
+    public void applyPostBindFixups(Object dto) throws Throwable {
+        for (PostBindFixup fixup : postBindFixups) {
+            fixup.apply(dto);
+        }
+    }
+
+    public void validate(Object dto, Boolean raiseValidationError) throws Throwable {
+        if (validateMethodHandle != null) {
+            validateMethodHandle.invokeExact(dto, raiseValidationError);
+        }
+    }
+
+    public void validate(Object dto, Set<String> fieldNames, Boolean raiseValidationError) throws Throwable {
+        if (partialValidateMethodHandle != null) {
+            partialValidateMethodHandle.invokeExact(dto, fieldNames, raiseValidationError);
+        }
+    }
+
+    public void postDeserialization(Object dto, EntityManager entityManager) throws Throwable {
+        if (postDeserializationMethodHandle != null) {
+            postDeserializationMethodHandle.invokeExact(dto, entityManager);
+        }
+    }
+}
@@ -2,18 +2,29 @@ package io.github.nikanique.springrestframework.dto;
 
 
 import io.github.nikanique.springrestframework.annotation.*;
+import lombok.extern.slf4j.Slf4j;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.Date;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+@Slf4j
 public class DtoManager {
     // Use ConcurrentHashMap for thread-safe caching
     private static final Map<Class<?>, Map<String, FieldMetadata>> fieldCache = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, DtoLifecycle> lifecycleCache = new ConcurrentHashMap<>();
+
+    public static DtoLifecycle getLifecycle(Class<?> clazz) {
+        return lifecycleCache.computeIfAbsent(clazz, cls -> new DtoLifecycle(cls, getDtoByClassName(cls)));
+    }
 
     // Method to get cached field metadata or create it if not present
     public static Map<String, FieldMetadata> getDtoByClassName(Class<?> clazz) {
@@ -41,13 +52,48 @@ public class DtoManager {
                                 field.getAnnotation(WriteOnly.class),
                                 field.getAnnotation(ReferencedModel.class),
                                 getterMethodHandle,
-                                setterMethodHandle);
+                                setterMethodHandle,
+                                parseDefaultValue(field));
                     })
                     .collect(Collectors.toMap(fieldMetadata -> fieldMetadata.getField().getName(), fieldMetadata -> fieldMetadata));
         });
     }
 
 
+    private static Object parseDefaultValue(Field field) {
+        Expose expose = field.getAnnotation(Expose.class);
+        if (expose == null || expose.defaultValue().equals("not-provided") || field.getAnnotation(ReadOnly.class) != null) {
+            return null;
+        }
+        Class<?> fieldType = field.getType();
+        String defaultValue = expose.defaultValue();
+        try {
+            if (fieldType == Integer.class || fieldType == int.class) {
+                return Integer.valueOf(defaultValue);
+            } else if (fieldType == Long.class || fieldType == long.class) {
+                return Long.valueOf(defaultValue);
+            } else if (fieldType == Double.class || fieldType == double.class) {
+                return Double.valueOf(defaultValue);
+            } else if (fieldType == Float.class || fieldType == float.class) {
+                return Float.valueOf(defaultValue);
+            } else if (fieldType == LocalDate.class) {
+                return LocalDate.parse(defaultValue);
+            } else if (fieldType == Date.class) {
+                return java.sql.Date.valueOf(defaultValue);
+            } else if (fieldType == Timestamp.class) {
+                return Timestamp.valueOf(defaultValue);
+            } else if (fieldType == String.class) {
+                return defaultValue;
+            } else if (fieldType == Boolean.class || fieldType == boolean.class) {
+                return Boolean.valueOf(defaultValue);
+            }
+            log.error("{} field type is not supported for default value.", field.getName());
+        } catch (RuntimeException e) {
+            log.error("{} default value could not be set.", field.getName());
+        }
+        return null;
+    }
+
     public static String mapFieldToDBColumn(String fieldName, Class<?> dtoClass) {
         if (!fieldName.isEmpty()) {
             Expose expose = DtoManager.getDtoByClassName(dtoClass).get(fieldName).getExpose();
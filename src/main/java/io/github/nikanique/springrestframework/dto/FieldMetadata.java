@@ -18,8 +18,14 @@ public class FieldMetadata {
     private final ReferencedModel referencedModel;
     private final MethodHandle getterMethodHandle;
     private final MethodHandle setterMethodHandle;
+    // The @Expose default value converted to the field type, or null if the field has no default value
+    private final Object defaultValue;
 
     public FieldMetadata(Field field, Class<?> fieldType, FieldValidation validation, Expose expose, ReadOnly readOnly, WriteOnly writeOnly, ReferencedModel referencedModel, MethodHandle getterMethodHandle, MethodHandle setterMethodHandle) {
+        this(field, fieldType, validation, expose, readOnly, writeOnly, referencedModel, getterMethodHandle, setterMethodHandle, null);
+    }
+
+    public FieldMetadata(Field field, Class<?> fieldType, FieldValidation validation, Expose expose, ReadOnly readOnly, WriteOnly writeOnly, ReferencedModel referencedModel, MethodHandle getterMethodHandle, MethodHandle setterMethodHandle, Object defaultValue) {
         this.field = field;
         this.fieldType = fieldType;
         this.validation = validation;
@@ -29,5 +35,6 @@ public class FieldMetadata {
         this.referencedModel = referencedModel;
         this.getterMethodHandle = getterMethodHandle;
         this.setterMethodHandle = setterMethodHandle;
+        this.defaultValue = defaultValue;
     }
 }
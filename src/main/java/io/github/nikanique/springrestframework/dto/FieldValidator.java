@@ -0,0 +1,133 @@
+package io.github.nikanique.springrestframework.dto;
+
+import io.github.nikanique.springrestframework.annotation.FieldValidation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Map;
+
+/**
+ * The {@link FieldValidation} of a single DTO field, compiled once per DTO class. The bounds and error
+ * messages are computed up front, so validating a value only reads the field and compares primitives.
+ */
+public class FieldValidator {
+    private static final String DATE_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    private final String fieldName;
+    private final MethodHandle getter;
+    private final boolean nullable;
+    private final boolean blank;
+    private final int minLength;
+    private final int maxLength;
+    private final String lengthMessage;
+    private final int minValue;
+    private final int maxValue;
+    private final String valueMessage;
+    private final long minDate;
+    private final long maxDate;
+    private final String minDateMessage;
+    private final String maxDateMessage;
+    private final boolean validDateBounds;
+
+    FieldValidator(String fieldName, MethodHandle getter, FieldValidation validation) {
+        this.fieldName = fieldName;
+        this.getter = getter == null ? null : getter.asType(MethodType.methodType(Object.class, Object.class));
+        this.nullable = validation.nullable();
+        this.blank = validation.blank();
+        this.minLength = validation.minLength();
+        this.maxLength = validation.maxLength();
+        this.lengthMessage = "String length must be between " + minLength + " and " + maxLength + ".";
+        this.minValue = validation.minValue();
+        this.maxValue = validation.maxValue();
+        this.valueMessage = "Value must be between " + minValue + " and " + maxValue + ".";
+        this.minDateMessage = " date must be after " + validation.minDate() + ".";
+        this.maxDateMessage = " date must be before " + validation.maxDate() + ".";
+
+        long parsedMinDate = Long.MIN_VALUE;
+        long parsedMaxDate = Long.MAX_VALUE;
+        boolean validBounds = true;
+        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+        try {
+            if (!validation.minDate().isEmpty()) {
+                parsedMinDate = dateFormat.parse(validation.minDate()).getTime();
+            }
+            if (!validation.maxDate().isEmpty()) {
+                parsedMaxDate = dateFormat.parse(validation.maxDate()).getTime();
+            }
+        } catch (ParseException e) {
+            // Reported when a date value is validated, as fields of other types never use the bounds
+            validBounds = false;
+        }
+        this.minDate = parsedMinDate;
+        this.maxDate = parsedMaxDate;
+        this.validDateBounds = validBounds;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Validates the field of the DTO and puts the error message, if any, into validationErrors.
+     *
+     * @param dto              The DTO
+     * @param validationErrors The validation errors by field name
+     */
+    public void validate(Object dto, Map<String, String> validationErrors) throws Throwable {
+        if (getter == null) {
+            throw new IllegalStateException("Getter method handle is not available for field: " + fieldName);
+        }
+        Object value = (Object) getter.invokeExact(dto);
+
+        if (value == null) {
+            if (!nullable) {
+                validationErrors.put(fieldName, "The parameter cannot be null.");
+            }
+        } else if (value instanceof String) {
+            validateString((String) value, validationErrors);
+        } else if (value instanceof Number) {
+            validateNumber((Number) value, validationErrors);
+        } else if (value instanceof java.util.Date) {
+            validateDate((java.util.Date) value, validationErrors);
+        }
+    }
+
+    private void validateString(String value, Map<String, String> validationErrors) {
+        if (!blank && value.trim().isEmpty()) {
+            validationErrors.put(fieldName, "The parameter cannot be blank.");
+        }
+        int length = value.length();
+        if (length < minLength || length > maxLength) {
+            validationErrors.put(fieldName, lengthMessage);
+        }
+    }
+
+    private void validateNumber(Number value, Map<String, String> validationErrors) {
+        boolean outOfRange;
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long longValue = value.longValue();
+            outOfRange = longValue < minValue || longValue > maxValue;
+        } else {
+            double doubleValue = value.doubleValue();
+            outOfRange = doubleValue < minValue || doubleValue > maxValue;
+        }
+        if (outOfRange) {
+            validationErrors.put(fieldName, valueMessage);
+        }
+    }
+
+    private void validateDate(java.util.Date value, Map<String, String> validationErrors) {
+        if (!validDateBounds) {
+            throw new IllegalArgumentException("Invalid date format in annotations for " + fieldName + ". Correct format is YYYY-MM-dd HH:mm:ss");
+        }
+        long time = value.getTime();
+        if (time < minDate) {
+            validationErrors.put(fieldName, minDateMessage);
+        }
+        if (time > maxDate) {
+            validationErrors.put(fieldName, maxDateMessage);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package io.github.nikanique.springrestframework.dto;
+
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * The fix-up of a single DTO field after the request body is bound to the DTO: read-only fields are reset
+ * to null, missing fields get their typed default value and missing required fields are rejected.
+ * Only fields with at least one of these rules get a fix-up.
+ */
+@Slf4j
+public class PostBindFixup {
+    private final String fieldName;
+    private final MethodHandle getter;
+    private final MethodHandle setter;
+    private final boolean readOnly;
+    private final Object defaultValue;
+    private final boolean required;
+
+    private PostBindFixup(String fieldName, MethodHandle getter, MethodHandle setter, boolean readOnly, Object defaultValue, boolean required) {
+        this.fieldName = fieldName;
+        this.getter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        this.setter = setter == null ? null : setter.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        this.readOnly = readOnly;
+        this.defaultValue = defaultValue;
+        this.required = required;
+    }
+
+    /**
+     * @return The fix-up of the field, or null if the field needs none
+     */
+    static PostBindFixup of(String fieldName, FieldMetadata fieldMetadata) {
+        boolean readOnly = fieldMetadata.getReadOnly() != null;
+        boolean required = fieldMetadata.getExpose() != null && fieldMetadata.getExpose().isRequired();
+        Object defaultValue = fieldMetadata.getDefaultValue();
+        if ((!readOnly && !required && defaultValue == null) || fieldMetadata.getGetterMethodHandle() == null) {
+            return null;
+        }
+        return new PostBindFixup(fieldName, fieldMetadata.getGetterMethodHandle(), fieldMetadata.getSetterMethodHandle(), readOnly, defaultValue, required);
+    }
+
+    public void apply(Object dto) throws Throwable {
+        Object fieldValue = (Object) getter.invokeExact(dto);
+
+        if (fieldValue != null) {
+            if (readOnly) {
+                setValue(dto, null, "{} setter method invocation failed.");
+            }
+            return;
+        }
+        if (defaultValue != null) {
+            setValue(dto, defaultValue, "{} default value could not be set.");
+        }
+        if (required) {
+            throw new BadRequestException(fieldName, "Field is required.");
+        }
+    }
+
+    private void setValue(Object dto, Object value, String errorMessage) {
+        try {
+            setter.invokeExact(dto, value);
+        } catch (Throwable e) {
+            log.error(errorMessage, fieldName);
+        }
+    }
+}
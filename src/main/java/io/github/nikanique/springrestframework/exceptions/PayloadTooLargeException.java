@@ -0,0 +1,12 @@
+package io.github.nikanique.springrestframework.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class PayloadTooLargeException extends BaseException {
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.nikanique.springrestframework.orm;
+
+import io.github.nikanique.springrestframework.annotation.Expose;
+import io.github.nikanique.springrestframework.annotation.ReferencedModel;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+import io.github.nikanique.springrestframework.dto.DtoManager;
+import io.github.nikanique.springrestframework.dto.FieldMetadata;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Copies the fields of a DTO to a new entity, compiled once per DTO and entity class. It applies the same mappings
+ * as a BeanWrapper followed by BeanUtils.copyProperties, with the getter and setter handles resolved up front:
+ * <ul>
+ *     <li>Fields with an {@link Expose} source are set on the source property.</li>
+ *     <li>Fields with a {@link ReferencedModel} are set to the referenced entity of the given id, or to a proxy of it
+ *     when the reference is configured with {@link ReferenceLoading#REFERENCE}.</li>
+ *     <li>The other readable DTO properties are copied to the entity property of the same name, except read-only
+ *     fields without a value.</li>
+ * </ul>
+ */
+class DtoCopier {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final MappedField[] mappedFields;
+    private final CopiedProperty[] copiedProperties;
+
+    DtoCopier(Class<?> dtoClass, Class<?> entityClass, ReferenceLoading defaultLoading) {
+        Map<String, FieldMetadata> fieldsMetadata = DtoManager.getDtoByClassName(dtoClass);
+        Set<String> sourceFields = new HashSet<>();
+        for (FieldMetadata fieldMetadata : fieldsMetadata.values()) {
+            Expose expose = fieldMetadata.getExpose();
+            if (expose != null && !expose.source().equals("not-provided")) {
+                sourceFields.add(expose.source());
+            }
+        }
+
+        List<CopiedProperty> copied = new ArrayList<>();
+        for (PropertyDescriptor targetDescriptor : BeanUtils.getPropertyDescriptors(entityClass)) {
+            Method writeMethod = targetDescriptor.getWriteMethod();
+            if (writeMethod == null || sourceFields.contains(targetDescriptor.getName())) {
+                continue;
+            }
+            PropertyDescriptor sourceDescriptor = BeanUtils.getPropertyDescriptor(dtoClass, targetDescriptor.getName());
+            if (sourceDescriptor == null || sourceDescriptor.getReadMethod() == null ||
+                    !ClassUtils.isAssignable(writeMethod.getParameterTypes()[0], sourceDescriptor.getReadMethod().getReturnType())) {
+                continue;
+            }
+            copied.add(new CopiedProperty(targetDescriptor.getName(),
+                    unreflect(sourceDescriptor.getReadMethod()).asType(GETTER_TYPE),
+                    unreflect(writeMethod).asType(SETTER_TYPE)));
+        }
+        this.copiedProperties = copied.toArray(new CopiedProperty[0]);
+
+        List<MappedField> mapped = new ArrayList<>();
+        for (Map.Entry<String, FieldMetadata> entry : fieldsMetadata.entrySet()) {
+            FieldMetadata fieldMetadata = entry.getValue();
+            if (fieldMetadata.getGetterMethodHandle() == null) {
+                continue;
+            }
+            mapped.add(new MappedField(entry.getKey(), fieldMetadata, entityClass, indexOfCopiedProperty(entry.getKey()), defaultLoading));
+        }
+        this.mappedFields = mapped.toArray(new MappedField[0]);
+    }
+
+    /**
+     * Copies the DTO to the entity.
+     *
+     * @param dto           The DTO
+     * @param entity        The new entity
+     * @param entityManager The entity manager loading referenced models
+     */
+    void copy(Object dto, Object entity, EntityManager entityManager) throws Throwable {
+        boolean[] skipped = new boolean[copiedProperties.length];
+        for (MappedField mappedField : mappedFields) {
+            mappedField.apply(dto, entity, entityManager, skipped);
+        }
+        for (int i = 0; i < copiedProperties.length; i++) {
+            if (!skipped[i]) {
+                copiedProperties[i].setter.invokeExact(entity, (Object) copiedProperties[i].getter.invokeExact(dto));
+            }
+        }
+    }
+
+    private int indexOfCopiedProperty(String name) {
+        for (int i = 0; i < copiedProperties.length; i++) {
+            if (copiedProperties[i].name.equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static MethodHandle unreflect(Method method) {
+        try {
+            ReflectionUtils.makeAccessible(method);
+            return MethodHandles.lookup().unreflect(method);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access " + method, e);
+        }
+    }
+
+    private record CopiedProperty(String name, MethodHandle getter, MethodHandle setter) {
+    }
+
+    private static final class MappedField {
+        private final String fieldName;
+        private final MethodHandle getter;
+        private final boolean readOnly;
+        private final int copiedPropertyIndex;
+        private final Class<?> referencedModel;
+        private final boolean useReference;
+        private final String targetProperty;
+        private final MethodHandle targetSetter;
+        private final Class<?> targetType;
+
+        MappedField(String fieldName, FieldMetadata fieldMetadata, Class<?> entityClass, int copiedPropertyIndex, ReferenceLoading defaultLoading) {
+            this.fieldName = fieldName;
+            this.getter = fieldMetadata.getGetterMethodHandle().asType(GETTER_TYPE);
+            this.readOnly = fieldMetadata.getReadOnly() != null;
+            this.copiedPropertyIndex = copiedPropertyIndex;
+
+            Expose expose = fieldMetadata.getExpose();
+            ReferencedModel referencedModel = fieldMetadata.getReferencedModel();
+            this.useReference = referencedModel != null && ReferenceLoading.useReference(referencedModel, defaultLoading);
+            if (expose != null && !expose.source().equals("not-provided")) {
+                this.referencedModel = null;
+                this.targetProperty = expose.source();
+            } else if (referencedModel != null) {
+                try {
+                    this.referencedModel = Class.forName(referencedModel.model());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Referenced model " + referencedModel.model() + " of " + fieldName + " does not exist", e);
+                }
+                this.targetProperty = referencedModel.referencingField();
+            } else {
+                this.referencedModel = null;
+                this.targetProperty = null;
+            }
+
+            // Nested properties are set through a BeanWrapper on each copy
+            PropertyDescriptor targetDescriptor = targetProperty == null || targetProperty.contains(".") ? null :
+                    BeanUtils.getPropertyDescriptor(entityClass, targetProperty);
+            if (targetDescriptor != null && targetDescriptor.getWriteMethod() != null) {
+                this.targetSetter = unreflect(targetDescriptor.getWriteMethod()).asType(SETTER_TYPE);
+                this.targetType = ClassUtils.resolvePrimitiveIfNecessary(targetDescriptor.getWriteMethod().getParameterTypes()[0]);
+            } else {
+                this.targetSetter = null;
+                this.targetType = null;
+            }
+        }
+
+        void apply(Object dto, Object entity, EntityManager entityManager, boolean[] skipped) throws Throwable {
+            Object value = (Object) getter.invokeExact(dto);
+            if (readOnly && value == null) {
+                skip(skipped);
+                return;
+            }
+            if (targetProperty == null) {
+                return;
+            }
+            if (referencedModel == null) {
+                setTargetProperty(entity, value);
+                return;
+            }
+            if (value != null) {
+                Object referencedEntity = useReference ? entityManager.getReference(referencedModel, value) :
+                        ReferencedEntityCache.find(entityManager, referencedModel, value);
+                if (referencedEntity == null) {
+                    throw new IllegalArgumentException("Invalid ID for " + fieldName);
+                }
+                setTargetProperty(entity, referencedEntity);
+                skip(skipped);
+            }
+        }
+
+        private void skip(boolean[] skipped) {
+            if (copiedPropertyIndex >= 0) {
+                skipped[copiedPropertyIndex] = true;
+            }
+        }
+
+        private void setTargetProperty(Object entity, Object value) throws Throwable {
+            if (targetSetter == null) {
+                new BeanWrapperImpl(entity).setPropertyValue(targetProperty, value);
+            } else if (value == null || targetType.isInstance(value)) {
+                targetSetter.invokeExact(entity, value);
+            } else {
+                targetSetter.invokeExact(entity, new SimpleTypeConverter().convertIfNecessary(value, targetType));
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package io.github.nikanique.springrestframework.orm;
+
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Fetches the associations read by the serializer together with the queried entities, so that serializing
+ * a page does not load each association lazily per row. Only singular (many-to-one and one-to-one)
+ * associations are fetched, since fetching collections would make the database unable to paginate.
+ *
+ * @param <Model> The queried model
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class FetchGraphSpecification<Model> implements Specification<Model> {
+
+    private final Collection<String> paths;
+
+    /**
+     * @param paths The "__"-separated attribute paths read from each entity (e.g. course__teacher__name)
+     */
+    public FetchGraphSpecification(Collection<String> paths) {
+        this.paths = paths;
+    }
+
+    @Override
+    public Predicate toPredicate(Root<Model> root, CriteriaQuery<?> query, CriteriaBuilder builder) {
+        // Count queries of paged lists select no entity, fetching is not allowed there
+        if (query.getResultType() == Long.class || query.getResultType() == long.class) {
+            return null;
+        }
+        Map<String, FetchParent<?, ?>> fetches = new HashMap<>();
+        for (String path : paths) {
+            fetchPath(root, path.split("__"), fetches);
+        }
+        return null;
+    }
+
+    private void fetchPath(Root<Model> root, String[] attributeNames, Map<String, FetchParent<?, ?>> fetches) {
+        FetchParent<?, ?> parent = root;
+        ManagedType<?> managedType = root.getModel();
+        StringBuilder fetchedPath = new StringBuilder();
+        for (String attributeName : attributeNames) {
+            Attribute<?, ?> attribute = findAttribute(managedType, attributeName);
+            if (attribute == null || !attribute.isAssociation() || attribute.isCollection()) {
+                return;
+            }
+            fetchedPath.append("__").append(attributeName);
+            FetchParent<?, ?> currentParent = parent;
+            parent = fetches.computeIfAbsent(fetchedPath.toString(), key -> currentParent.fetch(attributeName, JoinType.LEFT));
+            if (!(((SingularAttribute) attribute).getType() instanceof ManagedType)) {
+                return;
+            }
+            managedType = (ManagedType<?>) ((SingularAttribute) attribute).getType();
+        }
+    }
+
+    private static Attribute<?, ?> findAttribute(ManagedType<?> managedType, String attributeName) {
+        try {
+            return managedType.getAttribute(attributeName);
+        } catch (IllegalArgumentException e) {
+            // The serializer reads a getter that is not a persistent attribute
+            return null;
+        }
+    }
+}
@@ -12,6 +12,7 @@ import org.springframework.data.jpa.domain.Specification;
 import java.sql.Timestamp;
 import java.time.LocalDate;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -65,7 +66,7 @@ public class ModelSpecification<Model> implements Specification<Model> {
                 }
                 break;
             case IN:
-                return createInPredicate(builder, path, attributeType, value.toString());
+                return createInPredicate(builder, path, attributeType, value);
             default:
                 return null;
         }
@@ -175,11 +176,19 @@ public class ModelSpecification<Model> implements Specification<Model> {
         return null;
     }
 
-    private Predicate createInPredicate(CriteriaBuilder builder, Path<?> path, Class<?> attributeType, String value) {
-        List<?> values = Arrays.stream(value.split(","))
-                .map(String::trim)
-                .map(v -> castToAttributeType(v, attributeType))
-                .collect(Collectors.toList());
+    private Predicate createInPredicate(CriteriaBuilder builder, Path<?> path, Class<?> attributeType, Object value) {
+        List<?> values;
+        if (value instanceof Collection<?> collection) {
+            // The items of a collection are used as they are, only string items are parsed
+            values = collection.stream()
+                    .map(v -> v instanceof String stringValue ? castToAttributeType(stringValue, attributeType) : v)
+                    .collect(Collectors.toList());
+        } else {
+            values = Arrays.stream(value.toString().split(","))
+                    .map(String::trim)
+                    .map(v -> castToAttributeType(v, attributeType))
+                    .collect(Collectors.toList());
+        }
 
         CriteriaBuilder.In<Object> inClause = builder.in(path);
         for (Object val : values) {
@@ -188,7 +197,12 @@ public class ModelSpecification<Model> implements Specification<Model> {
         return inClause;
     }
 
-    private Object castToAttributeType(String value, Class<?> attributeType) {
+    /**
+     * Parses a filter value to the type of the attribute it is compared with.
+     *
+     * @throws IllegalArgumentException If the value is invalid or the attribute type is not supported
+     */
+    public static Object castToAttributeType(String value, Class<?> attributeType) {
         if (attributeType == Integer.class || attributeType == int.class) {
             return Integer.parseInt(value);
         } else if (attributeType == Long.class || attributeType == long.class) {
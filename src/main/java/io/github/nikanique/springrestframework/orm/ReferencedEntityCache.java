@@ -0,0 +1,140 @@
+package io.github.nikanique.springrestframework.orm;
+
+import io.github.nikanique.springrestframework.annotation.ReferencedModel;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+import io.github.nikanique.springrestframework.dto.DtoManager;
+import io.github.nikanique.springrestframework.dto.FieldMetadata;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+
+import java.util.*;
+
+/**
+ * The referenced entities of the DTOs written by a request, loaded with one IN query per referenced model instead
+ * of one SELECT per id. A cache is bound to the current thread between {@link #open()} and {@link #close()}, and
+ * is read by {@link #find(EntityManager, Class, Object)} when the entity builder and the command service resolve
+ * {@link ReferencedModel} ids. Ids that were not prefetched are loaded one by one as before.
+ */
+public final class ReferencedEntityCache implements AutoCloseable {
+    private static final ThreadLocal<ReferencedEntityCache> CURRENT = new ThreadLocal<>();
+    private static final Object MISSING = new Object();
+
+    private final Map<Class<?>, Map<String, Object>> entities;
+    private final boolean owner;
+
+    private ReferencedEntityCache(Map<Class<?>, Map<String, Object>> entities, boolean owner) {
+        this.entities = entities;
+        this.owner = owner;
+    }
+
+    /**
+     * Binds a cache to the current thread. If a cache is already bound, the returned cache shares its entities and
+     * closing it leaves the bound cache in place.
+     */
+    public static ReferencedEntityCache open() {
+        ReferencedEntityCache current = CURRENT.get();
+        if (current != null) {
+            return new ReferencedEntityCache(current.entities, false);
+        }
+        ReferencedEntityCache cache = new ReferencedEntityCache(new HashMap<>(), true);
+        CURRENT.set(cache);
+        return cache;
+    }
+
+    @Override
+    public void close() {
+        if (owner) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Finds a referenced entity in the cache bound to the current thread, or loads it if it was not prefetched.
+     *
+     * @return The referenced entity, or null if it does not exist
+     */
+    public static Object find(EntityManager entityManager, Class<?> referencedModel, Object id) {
+        ReferencedEntityCache current = CURRENT.get();
+        if (current != null) {
+            Map<String, Object> modelEntities = current.entities.get(referencedModel);
+            Object entity = modelEntities == null ? null : modelEntities.get(String.valueOf(id));
+            if (entity != null) {
+                return entity == MISSING ? null : entity;
+            }
+        }
+        return entityManager.find(referencedModel, id);
+    }
+
+    /**
+     * Loads the referenced entities of the given DTOs that are resolved with {@link ReferenceLoading#FIND}, with one
+     * IN query per referenced model. Does nothing if no cache is bound to the current thread.
+     *
+     * @param entityManager  The entity manager
+     * @param dtoClass       The DTO class
+     * @param dtos           The DTOs
+     * @param defaultLoading The application wide reference loading
+     */
+    public static void prefetch(EntityManager entityManager, Class<?> dtoClass, Collection<?> dtos, ReferenceLoading defaultLoading) throws Throwable {
+        ReferencedEntityCache current = CURRENT.get();
+        if (current == null) {
+            return;
+        }
+        Map<Class<?>, Set<Object>> idsByModel = new LinkedHashMap<>();
+        for (FieldMetadata fieldMetadata : DtoManager.getDtoByClassName(dtoClass).values()) {
+            ReferencedModel referencedModel = fieldMetadata.getReferencedModel();
+            if (referencedModel == null || fieldMetadata.getGetterMethodHandle() == null ||
+                    ReferenceLoading.useReference(referencedModel, defaultLoading)) {
+                continue;
+            }
+            Set<Object> ids = idsByModel.computeIfAbsent(Class.forName(referencedModel.model()), model -> new LinkedHashSet<>());
+            for (Object dto : dtos) {
+                Object id = fieldMetadata.getGetterMethodHandle().invoke(dto);
+                if (id != null) {
+                    ids.add(id);
+                }
+            }
+        }
+        for (Map.Entry<Class<?>, Set<Object>> entry : idsByModel.entrySet()) {
+            current.load(entityManager, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void load(EntityManager entityManager, Class<?> referencedModel, Set<Object> ids) {
+        Map<String, Object> modelEntities = entities.computeIfAbsent(referencedModel, model -> new HashMap<>());
+        EntityType<?> entityType = entityManager.getMetamodel().entity(referencedModel);
+        Class<?> idType = entityType.getIdType().getJavaType();
+        String idName = entityType.getId(idType).getName();
+        SimpleTypeConverter typeConverter = new SimpleTypeConverter();
+
+        List<Object> pendingIds = new ArrayList<>();
+        for (Object id : ids) {
+            if (modelEntities.containsKey(String.valueOf(id))) {
+                continue;
+            }
+            try {
+                pendingIds.add(typeConverter.convertIfNecessary(id, idType));
+            } catch (TypeMismatchException e) {
+                // Not prefetched, so that loading it reports the invalid id of its item
+            }
+        }
+        for (int from = 0; from < pendingIds.size(); from += SearchCriteria.MAX_IN_VALUES) {
+            List<Object> chunk = pendingIds.subList(from, Math.min(from + SearchCriteria.MAX_IN_VALUES, pendingIds.size()));
+            for (Object id : chunk) {
+                modelEntities.put(String.valueOf(id), MISSING);
+            }
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaQuery<Object> query = builder.createQuery(Object.class);
+            Root<?> root = query.from(referencedModel);
+            query.select(root).where(root.get(idName).in(chunk));
+            for (Object entity : entityManager.createQuery(query).getResultList()) {
+                Object id = entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entity);
+                modelEntities.put(String.valueOf(id), entity);
+            }
+        }
+    }
+}
@@ -16,6 +16,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -24,6 +25,11 @@ import java.util.stream.Collectors;
 @NoArgsConstructor
 @Data
 public class SearchCriteria {
+    /**
+     * The maximum number of values of an IN criterion sent in a single query, within the limits of all databases.
+     */
+    public static final int MAX_IN_VALUES = 1000;
+
     private String key;
     private FilterOperation filterOperation;
     private Object value;
@@ -213,6 +219,12 @@ public class SearchCriteria {
             case CONTAINS:
                 return column + " LIKE " + ("'%" + value.toString() + "%'");
             case IN:
+                if (value instanceof Collection<?> collection) {
+                    String inClause = collection.stream()
+                            .map(item -> formatValue(item, this.getFieldType()))
+                            .collect(Collectors.joining(", "));
+                    return column + " IN (" + inClause + ")";
+                }
                 if (value instanceof String) {
                     String inClause = Arrays.stream(((String) value).split(","))
                             .map(item -> formatValue(item, this.getFieldType()))
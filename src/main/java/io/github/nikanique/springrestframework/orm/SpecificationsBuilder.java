@@ -31,6 +31,20 @@ public class SpecificationsBuilder {
         return specifications;
     }
 
+    /**
+     * Adds fetching of the associations on the given paths to the specifications.
+     *
+     * @param specifications The specifications, or null if the query is not filtered
+     * @param fetchPaths     The "__"-separated attribute paths that will be read from each entity
+     * @return The specifications fetching the associations
+     */
+    public Specification withFetchGraph(Specification specifications, List<String> fetchPaths) {
+        if (fetchPaths.isEmpty()) {
+            return specifications;
+        }
+        return Specification.where(specifications).and(new FetchGraphSpecification(fetchPaths));
+    }
+
     public Specification fromSearchCriteria(SearchCriteria searchCriteria) {
         return new ModelSpecification(searchCriteria, entityManagerFactory);
     }
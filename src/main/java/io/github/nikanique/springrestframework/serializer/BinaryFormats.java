@@ -0,0 +1,24 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+/**
+ * Creates the CBOR and Smile copies of an ObjectMapper. The Jackson CBOR and Smile modules are optional
+ * dependencies, so their classes are only referenced here and each method must only be called when
+ * {@link Serializer#CBOR_PRESENT} or {@link Serializer#SMILE_PRESENT} is true.
+ */
+public final class BinaryFormats {
+
+    private BinaryFormats() {
+    }
+
+    public static ObjectMapper cborMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new CBORFactory());
+    }
+
+    public static ObjectMapper smileMapper(ObjectMapper objectMapper) {
+        return objectMapper.copyWith(new SmileFactory());
+    }
+}
@@ -4,21 +4,24 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.annotation.Expose;
 import io.github.nikanique.springrestframework.annotation.WriteOnly;
 import io.github.nikanique.springrestframework.common.FieldType;
+import io.github.nikanique.springrestframework.utilities.CompiledFormatter;
+import io.github.nikanique.springrestframework.utilities.MethodReflectionHelper;
+import io.github.nikanique.springrestframework.utilities.ValueFormatter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 public class ClassStructureExtractor {
 
-    private static final Set<Class<?>> visitedClasses = new HashSet<>();
+    private static final Map<Class<?>, Map<String, FieldDescriptor>> structureCache = new ConcurrentHashMap<>();
 
 
     public static MethodHandle findToRepresentMethod(Class<?> clazz) {
@@ -36,23 +39,38 @@ public class ClassStructureExtractor {
     }
 
 
+    /**
+     * Extracts the serializable structure of a DTO class as a flat map of "__"-prefixed field paths.
+     * The structure of each class is extracted once and cached, the returned map and its field descriptors
+     * are copies that the caller may modify.
+     *
+     * @param clazz The DTO class
+     * @return The field descriptors keyed by field path
+     */
     public static HashMap<String, FieldDescriptor> extractStructure(Class<?> clazz) {
-        HashMap<String, FieldDescriptor> structure = new HashMap<>();
-        visitedClasses.clear(); // Clear the visited classes set
-        extractFields(clazz, "", structure);
-        return structure;
+        Map<String, FieldDescriptor> structure = structureCache.computeIfAbsent(clazz, ClassStructureExtractor::extract);
+        HashMap<String, FieldDescriptor> copy = new HashMap<>(structure.size() * 4 / 3 + 1);
+        for (Map.Entry<String, FieldDescriptor> entry : structure.entrySet()) {
+            copy.put(entry.getKey(), new FieldDescriptor(entry.getValue()));
+        }
+        return copy;
+    }
+
+    private static Map<String, FieldDescriptor> extract(Class<?> clazz) {
+        Map<String, FieldDescriptor> structure = new HashMap<>();
+        extractFields(clazz, "", structure, new HashSet<>());
+        return Collections.unmodifiableMap(structure);
     }
 
-    private static void extractFields(Class<?> clazz, String prefix, Map<String, FieldDescriptor> structure) {
-        if (visitedClasses.contains(clazz)) {
-            return; // Prevent revisiting the same class to avoid infinite recursion
+    private static void extractFields(Class<?> clazz, String prefix, Map<String, FieldDescriptor> structure, Set<Class<?>> currentPath) {
+        if (!currentPath.add(clazz)) {
+            return; // The class is already being extracted on this path, stop to avoid infinite recursion
         }
-        visitedClasses.add(clazz);
 
         Field[] fields = clazz.getDeclaredFields();
         for (Field field : fields) {
 
-            if (field.isAnnotationPresent(WriteOnly.class)) {
+            if (field.isAnnotationPresent(WriteOnly.class) || Modifier.isStatic(field.getModifiers())) {
                 continue;
             }
 
@@ -63,24 +81,21 @@ public class ClassStructureExtractor {
             String methodName = (exposeAnnotation != null && !exposeAnnotation.methodName().equals("not-provided")) ? exposeAnnotation.methodName() : null;
 
 
-            structure.put(prefix + exposeName, new FieldDescriptor(FieldType.getByTypeName(field.getType().getSimpleName()), exposeName, format, getMethodFullName(field, methodName, source), source));
-            if (field.getType().getName().startsWith("java.util")) {
-                String collectionType = field.getGenericType().getTypeName();
-                if (collectionType.contains("<") && collectionType.contains(">")) {
-                    String[] parts = collectionType.split("<");
-                    String typeName = parts[1].substring(0, parts[1].length() - 1);
-                    Class<?> innerClass;
-                    try {
-                        innerClass = Class.forName(typeName);
-                        extractFields(innerClass, prefix + exposeName + "__", structure);
-                    } catch (ClassNotFoundException e) {
-                        log.error("Class not found: {}", typeName);
-                    }
+            CompiledFormatter formatter = ValueFormatter.compile(field.getType(), format);
+            MethodHandle methodHandle = methodName == null ? null : MethodReflectionHelper.findTransformerMethod(field.getDeclaringClass(), methodName);
+
+            structure.put(prefix + exposeName, new FieldDescriptor(FieldType.getByTypeName(field.getType().getSimpleName()), exposeName, format, getMethodFullName(field, methodName, source), source, formatter, methodHandle));
+            if (Collection.class.isAssignableFrom(field.getType())) {
+                if (field.getGenericType() instanceof ParameterizedType collectionType &&
+                        collectionType.getActualTypeArguments()[0] instanceof Class<?> innerClass &&
+                        isNestedType(innerClass)) {
+                    extractFields(innerClass, prefix + exposeName + "__", structure, currentPath);
                 }
-            } else if (!field.getType().isPrimitive() && !isSimpleType(field.getType())) {
-                extractFields(field.getType(), prefix + exposeName + "__", structure);
+            } else if (isNestedType(field.getType())) {
+                extractFields(field.getType(), prefix + exposeName + "__", structure, currentPath);
             }
         }
+        currentPath.remove(clazz);
     }
 
     private static String getMethodFullName(Field field, String methodName, String source) {
@@ -91,6 +106,11 @@ public class ClassStructureExtractor {
         return declaringClassName + "." + methodName;
     }
 
+    private static boolean isNestedType(Class<?> clazz) {
+        // JDK classes (e.g. LocalDate, BigDecimal) are values, their internals are not part of the structure
+        return !isSimpleType(clazz) && !clazz.isEnum() && !clazz.getName().startsWith("java.");
+    }
+
     private static boolean isSimpleType(Class<?> clazz) {
         return clazz.isPrimitive() ||
                 clazz == String.class ||
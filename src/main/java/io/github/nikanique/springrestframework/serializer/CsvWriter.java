@@ -0,0 +1,96 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.POJONode;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writes serialized objects as CSV rows. The columns are the leaf fields of a {@link SerializationPlan},
+ * named by their "__"-separated path (e.g. course__teacher). The values of a column read through a collection
+ * (e.g. students__name) are written as a JSON array.
+ */
+public class CsvWriter {
+    private static final String NESTED_FIELD_SEPARATOR = "__";
+
+    private final Writer writer;
+    private final List<String[]> columns = new ArrayList<>();
+
+    public CsvWriter(Writer writer, SerializationPlan plan) {
+        this.writer = writer;
+        collectColumns(plan, new ArrayList<>());
+    }
+
+    private void collectColumns(SerializationPlan plan, List<String> parentPath) {
+        for (SerializationNode node : plan.getNodes()) {
+            List<String> path = new ArrayList<>(parentPath);
+            path.add(node.getName());
+            if (node.getChildren().isEmpty()) {
+                columns.add(path.toArray(new String[0]));
+            } else {
+                collectColumns(node.getChildren(), path);
+            }
+        }
+    }
+
+    public void writeHeader() throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(String.join(NESTED_FIELD_SEPARATOR, columns.get(i))));
+        }
+        writer.write("\r\n");
+    }
+
+    public void writeRow(ObjectNode serializedObject) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escape(toText(getValue(serializedObject, columns.get(i), 0))));
+        }
+        writer.write("\r\n");
+    }
+
+    private static JsonNode getValue(JsonNode node, String[] path, int index) {
+        if (node == null || index == path.length) {
+            return node;
+        }
+        if (node.isArray()) {
+            ArrayNode values = JsonNodeFactory.instance.arrayNode();
+            for (JsonNode item : node) {
+                values.add(getValue(item, path, index));
+            }
+            return values;
+        }
+        return getValue(node.get(path[index]), path, index + 1);
+    }
+
+    private static String toText(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return "";
+        }
+        if (value.isContainerNode()) {
+            return value.toString();
+        }
+        if (value.isPojo()) {
+            Object pojo = ((POJONode) value).getPojo();
+            return pojo == null ? "" : pojo.toString();
+        }
+        return value.asText();
+    }
+
+    private static String escape(String value) {
+        if (value.indexOf(',') == -1 && value.indexOf('"') == -1 && value.indexOf('\n') == -1 && value.indexOf('\r') == -1) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,7 +1,14 @@
 package io.github.nikanique.springrestframework.serializer;
 
 import io.github.nikanique.springrestframework.common.FieldType;
+import io.github.nikanique.springrestframework.utilities.CompiledFormatter;
+import io.github.nikanique.springrestframework.utilities.MethodReflectionHelper;
+import io.github.nikanique.springrestframework.utilities.ValueFormatter;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.lang.invoke.MethodHandle;
 
 @Data
 public class FieldDescriptor {
@@ -13,6 +20,12 @@ public class FieldDescriptor {
 
     private String source;
     private String methodName;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private CompiledFormatter formatter;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private MethodHandle methodHandle;
 
 
     public FieldDescriptor(FieldType fieldType) {
@@ -45,8 +58,75 @@ public class FieldDescriptor {
         this.source = source;
     }
 
+    public FieldDescriptor(FieldType fieldType, String exposeName, String format, String methodName, String source, CompiledFormatter formatter, MethodHandle methodHandle) {
+        this.fieldType = fieldType;
+        this.exposeName = exposeName;
+        this.format = format;
+        this.methodName = methodName;
+        this.source = source;
+        this.formatter = formatter;
+        this.methodHandle = methodHandle;
+    }
+
     public FieldDescriptor(String exposeName) {
         this.exposeName = exposeName;
     }
 
+    /**
+     * Copies a field descriptor. The compiled formatter and method handle are immutable and shared with the copy.
+     *
+     * @param fieldDescriptor The field descriptor to copy
+     */
+    public FieldDescriptor(FieldDescriptor fieldDescriptor) {
+        this.fieldType = fieldDescriptor.fieldType;
+        this.exposeName = fieldDescriptor.exposeName;
+        this.format = fieldDescriptor.format;
+        this.source = fieldDescriptor.source;
+        this.methodName = fieldDescriptor.methodName;
+        this.formatter = fieldDescriptor.formatter;
+        this.methodHandle = fieldDescriptor.methodHandle;
+    }
+
+    /**
+     * Returns the compiled formatter of the field. Descriptors created without a formatter compile
+     * one from the field type and format on first use.
+     *
+     * @return The compiled formatter
+     */
+    public CompiledFormatter getFormatter() {
+        if (formatter == null) {
+            formatter = ValueFormatter.compile(fieldType, format);
+        }
+        return formatter;
+    }
+
+    /**
+     * Returns the transformer method of the field as a MethodHandle of type (Object)Object, or null if
+     * the field has no transformer method. Descriptors created without a handle resolve it from the
+     * method name on first use.
+     *
+     * @return The transformer method handle
+     */
+    public MethodHandle getMethodHandle() {
+        if (methodHandle == null && methodName != null) {
+            methodHandle = MethodReflectionHelper.findTransformerMethod(methodName);
+        }
+        return methodHandle;
+    }
+
+    public void setMethodName(String methodName) {
+        this.methodName = methodName;
+        this.methodHandle = null;
+    }
+
+    public void setFieldType(FieldType fieldType) {
+        this.fieldType = fieldType;
+        this.formatter = null;
+    }
+
+    public void setFormat(String format) {
+        this.format = format;
+        this.formatter = null;
+    }
+
 }
@@ -0,0 +1,95 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import io.github.nikanique.springrestframework.utilities.StringUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads the value of a "__"-separated source path (e.g. course__teacher__name) from an object.
+ * The getters of the path are resolved once per runtime class of the target object and composed
+ * into a single null-safe MethodHandle, so reading a value costs one handle invocation.
+ */
+@Slf4j
+public class GetterChain {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodHandle IS_NULL;
+    private static final MethodHandle RETURN_NULL;
+    private static final MethodHandle GET;
+
+    static {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            IS_NULL = lookup.findStatic(Objects.class, "isNull", MethodType.methodType(boolean.class, Object.class));
+            GET = lookup.findVirtual(GetterChain.class, "get", GETTER_TYPE);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        RETURN_NULL = MethodHandles.dropArguments(MethodHandles.constant(Object.class, null), 0, Object.class);
+    }
+
+    private final String[] path;
+    private final ConcurrentHashMap<Class<?>, MethodHandle> handles = new ConcurrentHashMap<>();
+
+    public GetterChain(String[] path) {
+        this.path = path;
+    }
+
+    public Object get(Object target) throws Throwable {
+        if (target == null) {
+            return null;
+        }
+        MethodHandle handle = handles.computeIfAbsent(target.getClass(), this::resolve);
+        return (Object) handle.invokeExact(target);
+    }
+
+    private MethodHandle resolve(Class<?> targetClass) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodHandle chain = null;
+        Class<?> currentClass = targetClass;
+        for (int i = 0; i < path.length; i++) {
+            Method getter = findGetter(currentClass, path[i]);
+            MethodHandle hop;
+            if (getter != null) {
+                try {
+                    hop = lookup.unreflect(getter).asType(GETTER_TYPE);
+                } catch (IllegalAccessException e) {
+                    log.warn("Getter of {} on {} is not accessible, it will be serialized as null.", path[i], currentClass.getName());
+                    return RETURN_NULL;
+                }
+            } else if (i == 0) {
+                log.warn("{} has no getter for {}, it will be serialized as null.", currentClass.getName(), path[i]);
+                return RETURN_NULL;
+            } else {
+                // The declared type does not expose the getter, resolve the rest of the path on the runtime class.
+                GetterChain tail = new GetterChain(Arrays.copyOfRange(path, i, path.length));
+                return appendHop(chain, GET.bindTo(tail));
+            }
+            chain = appendHop(chain, hop);
+            currentClass = getter.getReturnType();
+        }
+        return chain;
+    }
+
+    private static MethodHandle appendHop(MethodHandle chain, MethodHandle hop) {
+        if (chain == null) {
+            return hop;
+        }
+        MethodHandle nullSafeHop = MethodHandles.guardWithTest(IS_NULL, RETURN_NULL, hop);
+        return MethodHandles.filterReturnValue(chain, nullSafeHop);
+    }
+
+    private static Method findGetter(Class<?> clazz, String fieldName) {
+        try {
+            return clazz.getMethod("get" + StringUtils.capitalize(fieldName));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
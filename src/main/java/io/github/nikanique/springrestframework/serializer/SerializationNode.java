@@ -0,0 +1,47 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import lombok.Getter;
+
+/**
+ * A single field of a {@link SerializationPlan}. It holds the exposed name, the descriptor,
+ * the pre-split source path and its getter chain, together with the plan of its nested fields.
+ */
+@Getter
+public class SerializationNode {
+    private final String name;
+    private final FieldDescriptor fieldDescriptor;
+    private final String[] sourcePath;
+    private final GetterChain getterChain;
+    private final SerializationPlan children;
+
+    public SerializationNode(String name, FieldDescriptor fieldDescriptor, String source, SerializationPlan children) {
+        this.name = name;
+        this.fieldDescriptor = fieldDescriptor;
+        this.sourcePath = source.split("__");
+        this.getterChain = new GetterChain(this.sourcePath);
+        // Resolve the formatter and transformer method while compiling the plan rather than on first use
+        fieldDescriptor.getFormatter();
+        fieldDescriptor.getMethodHandle();
+        this.children = children;
+    }
+
+    private SerializationNode(SerializationNode node, SerializationPlan children) {
+        this.name = node.name;
+        this.fieldDescriptor = node.fieldDescriptor;
+        this.sourcePath = node.sourcePath;
+        this.getterChain = node.getterChain;
+        this.children = children;
+    }
+
+    /**
+     * Returns a copy of this node with different nested fields. The copy shares the getter chain
+     * of this node, so the resolved getters are reused.
+     *
+     * @param children The plan of the nested fields
+     * @return The copy of the node
+     */
+    public SerializationNode withChildren(SerializationPlan children) {
+        return children == this.children ? this : new SerializationNode(this, children);
+    }
+
+}
@@ -0,0 +1,131 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Tree-shaped representation of a serializer's fields. The plan is compiled once from the flat
+ * "__"-prefixed field map of a {@link SerializerConfig}, so that the serializer can walk the nodes
+ * of each nesting level directly without parsing field names for every serialized object.
+ */
+@Getter
+public class SerializationPlan {
+    private static final String NESTED_FIELD_SEPARATOR = "__";
+
+    private final SerializationNode[] nodes;
+    private volatile List<String> sourcePaths;
+
+    public SerializationPlan(SerializationNode[] nodes) {
+        this.nodes = nodes;
+    }
+
+    public static SerializationPlan compile(Map<String, FieldDescriptor> fields) {
+        return compile(fields, "");
+    }
+
+    private static SerializationPlan compile(Map<String, FieldDescriptor> fields, String prefix) {
+        List<SerializationNode> nodes = new ArrayList<>();
+        for (Map.Entry<String, FieldDescriptor> entry : fields.entrySet()) {
+            String fieldName = entry.getKey();
+            if (!fieldName.startsWith(prefix)) {
+                continue;
+            }
+            String fieldSuffix = fieldName.substring(prefix.length());
+            if (fieldSuffix.isEmpty() || fieldSuffix.contains(NESTED_FIELD_SEPARATOR)) {
+                continue;
+            }
+
+            FieldDescriptor fieldDescriptor = entry.getValue();
+            if (fieldDescriptor == null) {
+                fieldDescriptor = new FieldDescriptor(fieldSuffix);
+            }
+            String source = fieldDescriptor.getSource() == null ? fieldSuffix : fieldDescriptor.getSource();
+            String exposeName = fieldDescriptor.getExposeName() == null ? fieldSuffix : fieldDescriptor.getExposeName();
+
+            SerializationPlan children = compile(fields, prefix + fieldSuffix + NESTED_FIELD_SEPARATOR);
+            nodes.add(new SerializationNode(exposeName, fieldDescriptor, source, children));
+        }
+        return new SerializationPlan(nodes.toArray(new SerializationNode[0]));
+    }
+
+    /**
+     * Derives a plan containing only the selected fields. Nested fields are selected with "__"-separated
+     * paths, e.g. "course__title" keeps only the title of the course, while "course" keeps the whole course.
+     *
+     * @param fields  The paths of the fields to keep, or an empty set to keep all fields
+     * @param exclude The paths of the fields to remove
+     * @return The derived plan
+     */
+    public SerializationPlan select(Set<String> fields, Set<String> exclude) {
+        List<SerializationNode> selectedNodes = new ArrayList<>();
+        for (SerializationNode node : nodes) {
+            String name = node.getName();
+            if (exclude.contains(name)) {
+                continue;
+            }
+            Set<String> nestedExclude = getNestedPaths(exclude, name);
+            if (fields.isEmpty() || fields.contains(name)) {
+                SerializationPlan children = nestedExclude.isEmpty() ? node.getChildren() : node.getChildren().select(Collections.emptySet(), nestedExclude);
+                selectedNodes.add(node.withChildren(children));
+            } else {
+                Set<String> nestedFields = getNestedPaths(fields, name);
+                if (!nestedFields.isEmpty()) {
+                    selectedNodes.add(node.withChildren(node.getChildren().select(nestedFields, nestedExclude)));
+                }
+            }
+        }
+        return new SerializationPlan(selectedNodes.toArray(new SerializationNode[0]));
+    }
+
+    /**
+     * Returns the "__"-separated source paths read by this plan, relative to the serialized object.
+     * Nested fields are prefixed with the source path of their parent (e.g. course__teacher__name).
+     *
+     * @return The source paths
+     */
+    public List<String> getSourcePaths() {
+        List<String> paths = sourcePaths;
+        if (paths == null) {
+            paths = new ArrayList<>();
+            collectSourcePaths("", paths);
+            paths = Collections.unmodifiableList(paths);
+            sourcePaths = paths;
+        }
+        return paths;
+    }
+
+    private void collectSourcePaths(String prefix, List<String> paths) {
+        for (SerializationNode node : nodes) {
+            String path = prefix + String.join(NESTED_FIELD_SEPARATOR, node.getSourcePath());
+            paths.add(path);
+            node.getChildren().collectSourcePaths(path + NESTED_FIELD_SEPARATOR, paths);
+        }
+    }
+
+    public boolean containsPath(String path) {
+        int separatorIndex = path.indexOf(NESTED_FIELD_SEPARATOR);
+        String name = separatorIndex == -1 ? path : path.substring(0, separatorIndex);
+        for (SerializationNode node : nodes) {
+            if (node.getName().equals(name)) {
+                return separatorIndex == -1 || node.getChildren().containsPath(path.substring(separatorIndex + NESTED_FIELD_SEPARATOR.length()));
+            }
+        }
+        return false;
+    }
+
+    private static Set<String> getNestedPaths(Set<String> paths, String name) {
+        String prefix = name + NESTED_FIELD_SEPARATOR;
+        Set<String> nestedPaths = new HashSet<>();
+        for (String path : paths) {
+            if (path.startsWith(prefix)) {
+                nestedPaths.add(path.substring(prefix.length()));
+            }
+        }
+        return nestedPaths;
+    }
+
+    public boolean isEmpty() {
+        return nodes.length == 0;
+    }
+}
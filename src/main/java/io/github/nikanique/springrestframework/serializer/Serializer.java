@@ -1,40 +1,51 @@
 package io.github.nikanique.springrestframework.serializer;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
-import io.github.nikanique.springrestframework.annotation.Expose;
-import io.github.nikanique.springrestframework.annotation.ReadOnly;
-import io.github.nikanique.springrestframework.common.FieldType;
 import io.github.nikanique.springrestframework.dto.DtoManager;
-import io.github.nikanique.springrestframework.dto.FieldMetadata;
 import io.github.nikanique.springrestframework.exceptions.BadRequestException;
-import io.github.nikanique.springrestframework.utilities.MethodReflectionHelper;
-import io.github.nikanique.springrestframework.utilities.StringUtils;
-import io.github.nikanique.springrestframework.utilities.ValueFormatter;
+import io.github.nikanique.springrestframework.exceptions.BaseException;
+import jakarta.annotation.PreDestroy;
 import jakarta.persistence.EntityManager;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
-import java.lang.reflect.Method;
-import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.*;
 
 @Component
 @Slf4j
 public class Serializer {
+    public static final String JSON_MEDIA_TYPE = "application/json";
+    public static final String CBOR_MEDIA_TYPE = "application/cbor";
+    public static final String SMILE_MEDIA_TYPE = "application/x-jackson-smile";
+    // The binary formats are optional dependencies, only negotiated when their Jackson module is on the classpath
+    public static final boolean CBOR_PRESENT = ClassUtils.isPresent("com.fasterxml.jackson.dataformat.cbor.CBORFactory", Serializer.class.getClassLoader());
+    public static final boolean SMILE_PRESENT = ClassUtils.isPresent("com.fasterxml.jackson.dataformat.smile.SmileFactory", Serializer.class.getClassLoader());
 
     private final ObjectMapper objectMapper;
     private final EntityManager entityManager;
+    private volatile ForkJoinPool serializationPool;
+    // Copies of the ObjectMapper are created on first use, racing threads create equivalent copies
+    private volatile ObjectMapper cborMapper;
+    private volatile ObjectMapper smileMapper;
 
     @Autowired
     public Serializer(ObjectMapper objectMapper, EntityManager entityManager) {
@@ -51,15 +62,34 @@ public class Serializer {
     }
 
     public Object deserialize(String requestBody, Class<?> dtoClass, Boolean raiseValidationError, Boolean partial) throws Throwable {
+        JsonNode requestBodyNode = readTree(requestBody);
         Set<String> fieldNames = new HashSet<>();
         if (partial) {
-            fieldNames = getPresentFields(requestBody);
+            fieldNames = getPresentFields(requestBodyNode);
         }
-        return deserialize(requestBody, dtoClass, raiseValidationError, fieldNames);
+        return deserialize(requestBodyNode, dtoClass, raiseValidationError, fieldNames);
 
     }
 
     public Object deserialize(String requestBody, Class<?> dtoClass, Boolean raiseValidationError, Set<String> fields) throws Throwable {
+        return deserialize(readTree(requestBody), dtoClass, raiseValidationError, fields);
+    }
+
+    public Object deserialize(JsonNode requestBody, Class<?> dtoClass, Boolean raiseValidationError) throws Throwable {
+        return deserialize(requestBody, dtoClass, raiseValidationError, new HashSet<>());
+    }
+
+    /**
+     * Deserializes an already parsed request body, so that the present fields and the DTO can be
+     * derived from a single parse.
+     *
+     * @param requestBody          The parsed request body
+     * @param dtoClass             The DTO class
+     * @param raiseValidationError Whether validation errors are raised
+     * @param fields               The fields to validate, or an empty set to validate the whole DTO
+     * @return The DTO
+     */
+    public Object deserialize(JsonNode requestBody, Class<?> dtoClass, Boolean raiseValidationError, Set<String> fields) throws Throwable {
         Object dto = generateDTO(requestBody, dtoClass);
         if (!fields.isEmpty()) {
             invokeValidateIfExists(dto, dtoClass, raiseValidationError, fields);
@@ -70,109 +100,68 @@ public class Serializer {
         return dtoClass.cast(dto);
     }
 
-    private Object generateDTO(String requestBody, Class<?> dtoClass) throws Throwable {
-        Object dto = objectMapper.readValue(requestBody, dtoClass);
-        Map<String, FieldMetadata> fieldMetadata = DtoManager.getDtoByClassName(dtoClass);
-        for (String fieldName : fieldMetadata.keySet()) {
-            ReadOnly readOnlyAnnotation = fieldMetadata.get(fieldName).getReadOnly();
-            Expose exposeAnnotation = fieldMetadata.get(fieldName).getExpose();
-            Object fieldValue = fieldMetadata.get(fieldName).getGetterMethodHandle().invoke(dto);
-
-            // Read only field set to null
-            if (readOnlyAnnotation != null && fieldValue != null) {
-                try {
-                    fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, null);
-                } catch (Throwable e) {
-                    log.error("{} setter method invocation failed.", fieldName);
-                }
-            }
-
-
-            // Default value
-            if (readOnlyAnnotation == null && exposeAnnotation != null && fieldValue == null &&
-                    !exposeAnnotation.defaultValue().equals("not-provided")) {
-                Class<?> fieldType = fieldMetadata.get(fieldName).getFieldType();
-                String defaultValue = exposeAnnotation.defaultValue();
-                try {
-                    if (fieldType == Integer.class || fieldType == int.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Integer.valueOf(defaultValue));
-                    } else if (fieldType == Long.class || fieldType == long.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Long.valueOf(defaultValue));
-                    } else if (fieldType == Double.class || fieldType == double.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Double.valueOf(defaultValue));
-                    } else if (fieldType == Float.class || fieldType == float.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Float.valueOf(defaultValue));
-                    } else if (fieldType == LocalDate.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, LocalDate.parse(defaultValue));
-                    } else if (fieldType == Date.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, java.sql.Date.valueOf(defaultValue));
-                    } else if (fieldType == Timestamp.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Timestamp.valueOf(defaultValue));
-                    } else if (fieldType == String.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, defaultValue);
-                    } else if (fieldType == Boolean.class || fieldType == boolean.class) {
-                        fieldMetadata.get(fieldName).getSetterMethodHandle().invoke(dto, Boolean.valueOf(defaultValue));
-                    } else {
-                        log.error("{} field type is not supported for default value.", fieldName);
-                    }
-                } catch (Throwable e) {
-                    log.error("{} default value could not be set.", fieldName);
-                }
-            }
+    public JsonNode readTree(String requestBody) throws JsonProcessingException {
+        return requireContent(objectMapper.readTree(requestBody));
+    }
 
-            // Required check
+    /**
+     * Parses a request body directly from its input stream, without reading it into a String first.
+     *
+     * @param inputStream The request body
+     * @return The parsed request body
+     * @throws IOException If the body cannot be read or is not valid JSON
+     */
+    public JsonNode readTree(InputStream inputStream) throws IOException {
+        return requireContent(objectMapper.readTree(inputStream));
+    }
 
-            if (exposeAnnotation != null && fieldValue == null && exposeAnnotation.isRequired()) {
-                throw new BadRequestException(fieldName, "Field is required.");
-            }
+    private static JsonNode requireContent(JsonNode requestBody) {
+        if (requestBody == null || requestBody.isMissingNode()) {
+            throw new BadRequestException("Request body is empty.");
         }
+        return requestBody;
+    }
+
+    private Object generateDTO(JsonNode requestBody, Class<?> dtoClass) throws Throwable {
+        Object dto = objectMapper.treeToValue(requestBody, dtoClass);
+        DtoManager.getLifecycle(dtoClass).applyPostBindFixups(dto);
         return dto;
     }
 
     public Set<String> getPresentFields(String requestBody) throws JsonProcessingException {
-        JsonNode requestBodyNode = objectMapper.readTree(requestBody);
+        return getPresentFields(readTree(requestBody));
+    }
+
+    public Set<String> getPresentFields(JsonNode requestBodyNode) {
         Set<String> fieldNames = new HashSet<>();
         requestBodyNode.fieldNames().forEachRemaining(fieldNames::add);
         return fieldNames;
     }
 
     private void invokeValidateIfExists(Object dto, Class<?> dtoClass, Boolean raiseValidationError) {
-        MethodHandles.Lookup lookup = MethodHandles.lookup();
-        MethodType methodType = MethodType.methodType(Map.class, Boolean.class);
         try {
-            MethodHandle validateMethodHandle = lookup.findVirtual(dtoClass, "validate", methodType);
-            validateMethodHandle.invoke(dto, raiseValidationError);
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            // No validate method exists, or it is not accessible, do nothing
+            DtoManager.getLifecycle(dtoClass).validate(dto, raiseValidationError);
+        } catch (BaseException e) {
+            throw e;
         } catch (Throwable t) {
-            // Handle other possible exceptions from MethodHandle.invoke
             throw new RuntimeException("Validation failed", t);
         }
     }
 
 
     private void invokeValidateIfExists(Object dto, Class<?> dtoClass, Boolean raiseValidationError, Set<String> fieldNames) {
-        MethodHandles.Lookup lookup = MethodHandles.lookup();
-        MethodType methodType = MethodType.methodType(Map.class, Set.class, Boolean.class);
         try {
-            MethodHandle validateMethodHandle = lookup.findVirtual(dtoClass, "validate", methodType);
-            validateMethodHandle.invoke(dto, fieldNames, raiseValidationError);
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            // No validate method exists, or it is not accessible, do nothing
+            DtoManager.getLifecycle(dtoClass).validate(dto, fieldNames, raiseValidationError);
+        } catch (BaseException e) {
+            throw e;
         } catch (Throwable t) {
-            // Handle other possible exceptions from MethodHandle.invoke
             throw new RuntimeException("Validation failed", t);
         }
     }
 
     private void invokePostDeserialization(Object dto, Class<?> dtoClass, EntityManager entityManager) {
-        MethodHandles.Lookup lookup = MethodHandles.lookup();
-        MethodType methodType = MethodType.methodType(void.class, EntityManager.class);
         try {
-            MethodHandle validateMethodHandle = lookup.findVirtual(dtoClass, "postDeserialization", methodType);
-            validateMethodHandle.invoke(dto, entityManager);
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            log.error("postDeserialization method does not exist or is not accessible");
+            DtoManager.getLifecycle(dtoClass).postDeserialization(dto, entityManager);
         } catch (Throwable t) {
             throw new RuntimeException("postDeserialization method failed", t);
         }
@@ -180,7 +169,7 @@ public class Serializer {
 
 
     public ObjectNode serialize(Object object, SerializerConfig serializerConfig) {
-        ObjectNode serializedData = serializeObject(object, serializerConfig.getFields(), "");
+        ObjectNode serializedData = serializeObject(object, serializerConfig.getPlan());
         if (serializerConfig.getToRepresentMethod() != null) {
             try {
                 serializedData = (ObjectNode) serializerConfig.getToRepresentMethod().invoke(serializedData);
@@ -192,49 +181,130 @@ public class Serializer {
         return serializedData;
     }
 
-    private ObjectNode serializeObject(Object object, HashMap<String, FieldDescriptor> fields, String parentPrefix) {
-        ObjectNode objectNode = objectMapper.createObjectNode();
-        int numberOfParentPrefixes = StringUtils.countOfOccurrences(parentPrefix, "__");
-        for (String fieldName : fields.keySet()) {
-            if (!fieldName.startsWith(parentPrefix) ||
-                    (numberOfParentPrefixes < StringUtils.countOfOccurrences(fieldName, "__"))
-            ) {
+    /**
+     * Serializes a list of objects, preserving their order. Lists of at least parallelThreshold objects are
+     * serialized in parallel on a pool owned by the serializer, bounded to the number of available processors.
+     * Before that, the values read by the serializer config are initialized on the calling thread, so the worker
+     * threads never load lazy associations outside the persistence context. toRepresent methods run on the worker
+     * threads and must not depend on thread-bound state (e.g. the security context) or on unread associations.
+     *
+     * @param objects           The objects to serialize
+     * @param serializerConfig  The serializer config
+     * @param parallelThreshold The minimum number of objects to serialize in parallel, or 0 to always serialize sequentially
+     * @return The serialized objects, in the order of the given objects
+     */
+    public List<ObjectNode> serialize(List<?> objects, SerializerConfig serializerConfig, int parallelThreshold) {
+        if (parallelThreshold <= 0 || objects.size() < parallelThreshold) {
+            List<ObjectNode> serializedObjects = new ArrayList<>(objects.size());
+            for (Object object : objects) {
+                serializedObjects.add(serialize(object, serializerConfig));
+            }
+            return serializedObjects;
+        }
+
+        SerializationPlan plan = serializerConfig.getPlan();
+        for (Object object : objects) {
+            initializeLazyValues(object, plan);
+        }
+
+        ForkJoinPool pool = getSerializationPool();
+        int chunkSize = (objects.size() + pool.getParallelism() - 1) / pool.getParallelism();
+        List<Callable<List<ObjectNode>>> chunks = new ArrayList<>();
+        for (int start = 0; start < objects.size(); start += chunkSize) {
+            List<?> chunk = objects.subList(start, Math.min(start + chunkSize, objects.size()));
+            chunks.add(() -> serialize(chunk, serializerConfig, 0));
+        }
+
+        List<ObjectNode> serializedObjects = new ArrayList<>(objects.size());
+        try {
+            for (Future<List<ObjectNode>> serializedChunk : pool.invokeAll(chunks)) {
+                serializedObjects.addAll(serializedChunk.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Serialization was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException(e.getCause());
+        }
+        return serializedObjects;
+    }
+
+    private void initializeLazyValues(Object object, SerializationPlan plan) {
+        for (SerializationNode node : plan.getNodes()) {
+            Object fieldValue;
+            try {
+                fieldValue = node.getGetterChain().get(object);
+            } catch (Throwable throwable) {
+                // The field is skipped by the serializer as well
+                continue;
+            }
+            if (fieldValue == null) {
                 continue;
             }
+            Hibernate.initialize(fieldValue);
+            if (node.getChildren().isEmpty()) {
+                continue;
+            }
+            if (fieldValue instanceof Collection) {
+                for (Object item : (Collection<?>) fieldValue) {
+                    if (item != null) {
+                        initializeLazyValues(item, node.getChildren());
+                    }
+                }
+            } else if (!fieldValue.getClass().isArray() && !isSimpleType(fieldValue.getClass())) {
+                initializeLazyValues(fieldValue, node.getChildren());
+            }
+        }
+    }
 
-            String fieldSuffix = fieldName.substring(parentPrefix.length());
-            if (fieldSuffix.contains("__")) {
-                fieldSuffix = fieldSuffix.substring(0, fieldSuffix.indexOf("__"));
+    private ForkJoinPool getSerializationPool() {
+        ForkJoinPool pool = serializationPool;
+        if (pool == null) {
+            synchronized (this) {
+                pool = serializationPool;
+                if (pool == null) {
+                    pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), forkJoinPool -> {
+                        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+                        thread.setName("srf-serializer-" + thread.getPoolIndex());
+                        return thread;
+                    }, null, false);
+                    serializationPool = pool;
+                }
             }
+        }
+        return pool;
+    }
 
-            FieldDescriptor fieldDescriptor = fields.get(fieldName);
-            String exposeName = fieldDescriptor.getExposeName();
-            FieldType fieldType = fieldDescriptor.getFieldType();
-            String valueFormat = fieldDescriptor.getFormat();
-            String methodName = fieldDescriptor.getMethodName();
-            String source = fieldDescriptor.getSource();
+    @PreDestroy
+    public void shutdownSerializationPool() {
+        if (serializationPool != null) {
+            serializationPool.shutdown();
+        }
+    }
+
+    private ObjectNode serializeObject(Object object, SerializationPlan plan) {
+        ObjectNode objectNode = objectMapper.createObjectNode();
+        for (SerializationNode node : plan.getNodes()) {
+            FieldDescriptor fieldDescriptor = node.getFieldDescriptor();
+            String exposeName = node.getName();
 
             try {
-                Object fieldValue = getNestedFieldValue(object, source);
+                Object fieldValue = node.getGetterChain().get(object);
                 if (fieldValue != null) {
                     if (fieldValue instanceof Collection) {
-                        ArrayNode arrayNode = serializeCollection((Collection<?>) fieldValue, fields, parentPrefix + fieldSuffix + "__");
-                        objectNode.set(exposeName == null ? fieldSuffix : exposeName, arrayNode);
+                        ArrayNode arrayNode = serializeCollection((Collection<?>) fieldValue, node.getChildren());
+                        objectNode.set(exposeName, arrayNode);
                     } else if (fieldValue.getClass().isArray()) {
-                        ArrayNode arrayNode = serializeArray(fieldValue, fields, parentPrefix + fieldSuffix + "__");
-                        objectNode.set(exposeName == null ? fieldSuffix : exposeName, arrayNode);
+                        ArrayNode arrayNode = serializeArray(fieldValue, node.getChildren());
+                        objectNode.set(exposeName, arrayNode);
                     } else if (isSimpleType(fieldValue.getClass())) {
-                        if (methodName != null) {
-                            fieldValue = MethodReflectionHelper.invokeMethodFromString(methodName, fieldValue);
-                        }
-                        objectNode.putPOJO(exposeName == null ? fieldSuffix : exposeName,
-                                ValueFormatter.formatValue(fieldValue, fieldType, valueFormat));
+                        objectNode.putPOJO(exposeName, representSimpleValue(fieldValue, fieldDescriptor));
                     } else {
-                        ObjectNode nestedObjectNode = serializeObject(fieldValue, fields, parentPrefix + fieldSuffix + "__");
-                        objectNode.set(exposeName == null ? fieldSuffix : exposeName, nestedObjectNode);
+                        ObjectNode nestedObjectNode = serializeObject(fieldValue, node.getChildren());
+                        objectNode.set(exposeName, nestedObjectNode);
                     }
                 } else {
-                    objectNode.putPOJO(exposeName == null ? fieldSuffix : exposeName, null);
+                    objectNode.putPOJO(exposeName, null);
                 }
             } catch (Throwable throwable) {
                 log.error(throwable.getMessage());
@@ -244,41 +314,166 @@ public class Serializer {
         return objectNode;
     }
 
-    private Object getNestedFieldValue(Object object, String fieldPath) throws Throwable {
-        String[] fieldNames = fieldPath.split("__");
-        Object currentObject = object;
-        for (String fieldName : fieldNames) {
-            if (currentObject == null) {
-                return null;
+    private Object representSimpleValue(Object fieldValue, FieldDescriptor fieldDescriptor) throws Throwable {
+        MethodHandle methodHandle = fieldDescriptor.getMethodHandle();
+        if (methodHandle != null) {
+            fieldValue = (Object) methodHandle.invokeExact(fieldValue);
+        }
+        return fieldDescriptor.getFormatter().format(fieldValue);
+    }
+
+    public JsonGenerator createGenerator(OutputStream outputStream) throws IOException {
+        return objectMapper.createGenerator(outputStream);
+    }
+
+    /**
+     * Creates a generator writing the given media type, as returned by {@link #negotiateMediaType(String)}.
+     *
+     * @param outputStream The stream to write to
+     * @param mediaType    One of application/json, application/cbor or application/x-jackson-smile
+     * @return The generator
+     * @throws IOException If the generator cannot be created
+     */
+    public JsonGenerator createGenerator(OutputStream outputStream, String mediaType) throws IOException {
+        switch (mediaType) {
+            case CBOR_MEDIA_TYPE:
+                return getCborMapper().createGenerator(outputStream);
+            case SMILE_MEDIA_TYPE:
+                return getSmileMapper().createGenerator(outputStream);
+            default:
+                return objectMapper.createGenerator(outputStream);
+        }
+    }
+
+    /**
+     * Picks the response encoding from an Accept header. The accepted media types are tried by decreasing quality,
+     * in header order for equal qualities, and the first one compatible with JSON, or with CBOR or Smile when their
+     * module is present, is used. JSON is used if none is compatible.
+     *
+     * @param acceptHeader The Accept header of the request, may be null
+     * @return application/json, application/cbor or application/x-jackson-smile
+     */
+    public String negotiateMediaType(String acceptHeader) {
+        if (acceptHeader == null || acceptHeader.isBlank()) {
+            return JSON_MEDIA_TYPE;
+        }
+        List<org.springframework.http.MediaType> acceptedTypes;
+        try {
+            acceptedTypes = new ArrayList<>(org.springframework.http.MediaType.parseMediaTypes(acceptHeader));
+        } catch (IllegalArgumentException e) {
+            return JSON_MEDIA_TYPE;
+        }
+        // A stable sort, so that types of equal quality keep the order of the header
+        acceptedTypes.sort(Comparator.comparingDouble(org.springframework.http.MediaType::getQualityValue).reversed());
+        for (org.springframework.http.MediaType acceptedType : acceptedTypes) {
+            if (acceptedType.getQualityValue() == 0) {
+                continue;
             }
-            MethodHandle getter = findGetter(currentObject.getClass(), fieldName);
-            if (getter == null) {
-                return null;
+            if (acceptedType.isCompatibleWith(org.springframework.http.MediaType.APPLICATION_JSON)) {
+                return JSON_MEDIA_TYPE;
+            }
+            if (CBOR_PRESENT && acceptedType.isCompatibleWith(org.springframework.http.MediaType.APPLICATION_CBOR)) {
+                return CBOR_MEDIA_TYPE;
+            }
+            if (SMILE_PRESENT && acceptedType.isCompatibleWith(org.springframework.http.MediaType.valueOf(SMILE_MEDIA_TYPE))) {
+                return SMILE_MEDIA_TYPE;
             }
-            currentObject = getter.invoke(currentObject);
         }
-        return currentObject;
+        return JSON_MEDIA_TYPE;
     }
 
-    private MethodHandle findGetter(Class<?> clazz, String fieldName) {
-        MethodHandles.Lookup lookup = MethodHandles.lookup();
-        try {
-            Method method = clazz.getMethod("get" + capitalize(fieldName));
-            return lookup.unreflect(method);
-        } catch (NoSuchMethodException | IllegalAccessException e) {
-            log.error(e.getMessage());
-            return null;
+    private ObjectMapper getCborMapper() {
+        if (cborMapper == null) {
+            cborMapper = BinaryFormats.cborMapper(objectMapper);
+        }
+        return cborMapper;
+    }
+
+    private ObjectMapper getSmileMapper() {
+        if (smileMapper == null) {
+            smileMapper = BinaryFormats.smileMapper(objectMapper);
+        }
+        return smileMapper;
+    }
+
+    /**
+     * Serializes the object and writes it directly to the given generator, without building an
+     * intermediate ObjectNode. If the serializer config has a toRepresent method, the object is
+     * serialized to an ObjectNode first, since toRepresent operates on the node.
+     *
+     * @param object           The object to serialize
+     * @param serializerConfig The serializer config
+     * @param generator        The generator to write the serialized object to
+     * @throws IOException If writing to the generator fails
+     */
+    public void serialize(Object object, SerializerConfig serializerConfig, JsonGenerator generator) throws IOException {
+        if (serializerConfig.getToRepresentMethod() != null) {
+            generator.writeTree(serialize(object, serializerConfig));
+            return;
         }
+        writeObject(object, serializerConfig.getPlan(), generator);
     }
 
-    private ArrayNode serializeCollection(Collection<?> collection, HashMap<String, FieldDescriptor> fields, String parentPrefix) {
+    private void writeObject(Object object, SerializationPlan plan, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (SerializationNode node : plan.getNodes()) {
+            Object fieldValue;
+            boolean simpleValue = false;
+            try {
+                fieldValue = node.getGetterChain().get(object);
+                if (fieldValue != null && isSimpleType(fieldValue.getClass())) {
+                    fieldValue = representSimpleValue(fieldValue, node.getFieldDescriptor());
+                    simpleValue = true;
+                }
+            } catch (Throwable throwable) {
+                log.error(throwable.getMessage());
+                continue;
+            }
+
+            generator.writeFieldName(node.getName());
+            if (fieldValue == null) {
+                generator.writeNull();
+            } else if (simpleValue) {
+                generator.writeObject(fieldValue);
+            } else if (fieldValue instanceof Collection) {
+                generator.writeStartArray();
+                for (Object item : (Collection<?>) fieldValue) {
+                    writeItem(item, node.getChildren(), generator);
+                }
+                generator.writeEndArray();
+            } else if (fieldValue.getClass().isArray()) {
+                generator.writeStartArray();
+                int length = java.lang.reflect.Array.getLength(fieldValue);
+                for (int i = 0; i < length; i++) {
+                    writeItem(java.lang.reflect.Array.get(fieldValue, i), node.getChildren(), generator);
+                }
+                generator.writeEndArray();
+            } else {
+                writeObject(fieldValue, node.getChildren(), generator);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private void writeItem(Object item, SerializationPlan plan, JsonGenerator generator) throws IOException {
+        if (item == null) {
+            return;
+        }
+        if (isSimpleType(item.getClass())) {
+            generator.writeObject(item);
+        } else {
+            writeObject(item, plan, generator);
+        }
+    }
+
+    private ArrayNode serializeCollection(Collection<?> collection, SerializationPlan plan) {
         ArrayNode arrayNode = objectMapper.createArrayNode();
         for (Object item : collection) {
             if (item != null) {
                 if (isSimpleType(item.getClass())) {
                     arrayNode.addPOJO(item);
                 } else {
-                    ObjectNode nestedObjectNode = serializeObject(item, fields, parentPrefix);
+                    ObjectNode nestedObjectNode = serializeObject(item, plan);
                     arrayNode.add(nestedObjectNode);
                 }
             }
@@ -286,7 +481,7 @@ public class Serializer {
         return arrayNode;
     }
 
-    private ArrayNode serializeArray(Object array, HashMap<String, FieldDescriptor> fields, String parentPrefix) {
+    private ArrayNode serializeArray(Object array, SerializationPlan plan) {
         ArrayNode arrayNode = objectMapper.createArrayNode();
         int length = java.lang.reflect.Array.getLength(array);
         for (int i = 0; i < length; i++) {
@@ -295,7 +490,7 @@ public class Serializer {
                 if (isSimpleType(item.getClass())) {
                     arrayNode.addPOJO(item);
                 } else {
-                    ObjectNode nestedObjectNode = serializeObject(item, fields, parentPrefix);
+                    ObjectNode nestedObjectNode = serializeObject(item, plan);
                     arrayNode.add(nestedObjectNode);
                 }
             }
@@ -304,26 +499,20 @@ public class Serializer {
     }
 
     private boolean isSimpleType(Class<?> clazz) {
+        // Values that are represented as they are or through their field formatter, never walked as nested objects
         return clazz.isPrimitive() ||
+                Enum.class.isAssignableFrom(clazz) ||
                 clazz == String.class ||
-                clazz == Integer.class ||
-                clazz == Long.class ||
-                clazz == Double.class ||
-                clazz == Float.class ||
                 clazz == Boolean.class ||
-                clazz == Date.class ||
-                clazz == java.sql.Date.class ||
-                clazz == java.sql.Timestamp.class ||
+                clazz == Character.class ||
+                Number.class.isAssignableFrom(clazz) ||
+                Date.class.isAssignableFrom(clazz) ||
                 clazz == LocalDateTime.class ||
                 clazz == LocalDate.class ||
-                clazz == LocalTime.class;
+                clazz == LocalTime.class ||
+                clazz == Instant.class ||
+                clazz == OffsetDateTime.class ||
+                clazz == ZonedDateTime.class;
 
     }
-
-    private String capitalize(String str) {
-        if (str == null || str.isEmpty()) {
-            return str;
-        }
-        return str.substring(0, 1).toUpperCase() + str.substring(1);
-    }
 }
@@ -1,14 +1,29 @@
 package io.github.nikanique.springrestframework.serializer;
 
+import io.github.nikanique.springrestframework.exceptions.ValidationException;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.lang.invoke.MethodHandle;
 import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Data
 public class SerializerConfig {
+    private static final int MAX_CACHED_SELECTIONS = 256;
+
     private HashMap<String, FieldDescriptor> fields;
     private MethodHandle toRepresentMethod = null;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private volatile SerializationPlan plan;
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final Map<String, SerializerConfig> selections = new ConcurrentHashMap<>();
 
     public SerializerConfig() {
         fields = new HashMap<>();
@@ -22,16 +37,114 @@ public class SerializerConfig {
     public static SerializerConfig fromDTO(Class<?> DTOClass) {
         HashMap<String, FieldDescriptor> fields = ClassStructureExtractor.extractStructure(DTOClass);
         MethodHandle toRepresentMethod = ClassStructureExtractor.findToRepresentMethod(DTOClass);
-        return new SerializerConfig(fields, toRepresentMethod);
+        SerializerConfig serializerConfig = new SerializerConfig(fields, toRepresentMethod);
+        serializerConfig.plan = SerializationPlan.compile(fields);
+        return serializerConfig;
+    }
+
+    /**
+     * Returns the compiled serialization plan of the configured fields. The plan is compiled on first
+     * use and recompiled only after the fields are changed.
+     *
+     * @return The serialization plan
+     */
+    public SerializationPlan getPlan() {
+        SerializationPlan compiledPlan = plan;
+        if (compiledPlan == null) {
+            compiledPlan = SerializationPlan.compile(fields);
+            plan = compiledPlan;
+        }
+        return compiledPlan;
+    }
+
+    /**
+     * Derives a serializer config that serializes only the selected fields. Derived configs are cached
+     * per distinct selection.
+     *
+     * @param fields  The "__"-separated paths of the fields to serialize, or an empty set to serialize all fields
+     * @param exclude The "__"-separated paths of the fields not to serialize
+     * @return The derived serializer config, or this config if nothing is selected or excluded
+     * @throws ValidationException If a path does not match any field
+     */
+    public SerializerConfig select(Set<String> fields, Set<String> exclude) {
+        if (fields.isEmpty() && exclude.isEmpty()) {
+            return this;
+        }
+        SerializationPlan fullPlan = getPlan();
+        validatePaths(fullPlan, "fields", fields);
+        validatePaths(fullPlan, "exclude", exclude);
+
+        String selectionKey = String.join(",", new TreeSet<>(fields)) + "|" + String.join(",", new TreeSet<>(exclude));
+        SerializerConfig selection = selections.get(selectionKey);
+        if (selection == null) {
+            SerializationPlan selectedPlan = fullPlan.select(fields, exclude);
+            selection = new SerializerConfig(selectFields(this.fields, selectedPlan), toRepresentMethod);
+            selection.plan = selectedPlan;
+            if (selections.size() < MAX_CACHED_SELECTIONS) {
+                selections.put(selectionKey, selection);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Keeps the fields whose nodes are in the selected plan. Fields are matched to nodes by their exposed name at
+     * each nesting level, the same way the plan is compiled, so that the fields and the plan of a selection agree.
+     */
+    private static HashMap<String, FieldDescriptor> selectFields(Map<String, FieldDescriptor> allFields, SerializationPlan selectedPlan) {
+        HashMap<String, FieldDescriptor> selectedFields = new HashMap<>();
+        collectSelectedFields(allFields, "", selectedPlan, selectedFields);
+        return selectedFields;
+    }
+
+    private static void collectSelectedFields(Map<String, FieldDescriptor> allFields, String prefix, SerializationPlan selectedPlan,
+                                              HashMap<String, FieldDescriptor> selectedFields) {
+        for (Map.Entry<String, FieldDescriptor> entry : allFields.entrySet()) {
+            String fieldName = entry.getKey();
+            if (!fieldName.startsWith(prefix)) {
+                continue;
+            }
+            String fieldSuffix = fieldName.substring(prefix.length());
+            if (fieldSuffix.isEmpty() || fieldSuffix.contains("__")) {
+                continue;
+            }
+            FieldDescriptor fieldDescriptor = entry.getValue();
+            String exposeName = fieldDescriptor == null || fieldDescriptor.getExposeName() == null ? fieldSuffix : fieldDescriptor.getExposeName();
+            for (SerializationNode node : selectedPlan.getNodes()) {
+                if (node.getName().equals(exposeName)) {
+                    selectedFields.put(fieldName, fieldDescriptor);
+                    collectSelectedFields(allFields, fieldName + "__", node.getChildren(), selectedFields);
+                    break;
+                }
+            }
+        }
+    }
+
+    private static void validatePaths(SerializationPlan plan, String parameterName, Set<String> paths) {
+        for (String path : paths) {
+            if (!plan.containsPath(path)) {
+                throw new ValidationException(parameterName, path + " is not a valid field.");
+            }
+        }
+    }
+
+    public void setFields(HashMap<String, FieldDescriptor> fields) {
+        this.fields = fields;
+        this.plan = null;
+        this.selections.clear();
     }
 
     public SerializerConfig addField(String fieldName) {
         fields.put(fieldName, null);
+        plan = null;
+        selections.clear();
         return this;
     }
 
     public SerializerConfig addField(String fieldName, FieldDescriptor fieldDescriptor) {
         fields.put(fieldName, fieldDescriptor);
+        plan = null;
+        selections.clear();
         return this;
     }
 
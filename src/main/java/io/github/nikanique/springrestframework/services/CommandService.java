@@ -1,27 +1,27 @@
 package io.github.nikanique.springrestframework.services;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.github.nikanique.springrestframework.annotation.Expose;
-import io.github.nikanique.springrestframework.annotation.ReadOnly;
-import io.github.nikanique.springrestframework.annotation.ReferencedModel;
-import io.github.nikanique.springrestframework.dto.DtoManager;
-import io.github.nikanique.springrestframework.dto.FieldMetadata;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
 import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import io.github.nikanique.springrestframework.exceptions.ValidationException;
+import io.github.nikanique.springrestframework.orm.ReferencedEntityCache;
+import io.github.nikanique.springrestframework.orm.SearchCriteria;
+import io.github.nikanique.springrestframework.orm.SpecificationsBuilder;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.*;
+import jakarta.persistence.metamodel.EntityType;
 import lombok.Getter;
-import org.springframework.beans.BeanWrapper;
-import org.springframework.beans.BeanWrapperImpl;
+import org.hibernate.Session;
 import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.lang.invoke.MethodHandle;
-import java.lang.invoke.MethodHandles;
-import java.lang.invoke.MethodType;
-import java.lang.reflect.InvocationTargetException;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 @Getter
 public class CommandService<Model, ID> {
@@ -30,11 +30,25 @@ public class CommandService<Model, ID> {
     private final EntityManager entityManager;
     private final ObjectMapper objectMapper;
     private final JpaRepository<Model, ID> jpaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final SpecificationsBuilder specificationsBuilder;
+    private final Class<Model> entityClass;
+    private final ReferenceLoading defaultReferenceLoading;
+    private final Map<Class<?>, EntityUpdater> entityUpdaters = new ConcurrentHashMap<>();
 
     public CommandService(JpaRepository<Model, ID> jpaRepository, ApplicationContext springContext) {
+        this(null, jpaRepository, springContext);
+    }
+
+    public CommandService(Class<Model> entityClass, JpaRepository<Model, ID> jpaRepository, ApplicationContext springContext) {
+        this.entityClass = entityClass;
         this.jpaRepository = jpaRepository;
         this.objectMapper = springContext.getBean(ObjectMapper.class);
         this.entityManager = springContext.getBean(EntityManager.class);
+        this.specificationsBuilder = springContext.getBean(SpecificationsBuilder.class);
+        this.defaultReferenceLoading = springContext.getEnvironment()
+                .getProperty(ReferenceLoading.PROPERTY, ReferenceLoading.class, ReferenceLoading.FIND);
+        this.transactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
     }
 
     public static <Model, ID> CommandService<Model, ID> getInstance(
@@ -42,7 +56,7 @@ public class CommandService<Model, ID> {
             JpaRepository<Model, ID> jpaRepository, ApplicationContext springContext) {
 
         //noinspection unchecked
-        return (CommandService<Model, ID>) instances.computeIfAbsent(entityClass, k -> new CommandService<>(jpaRepository, springContext));
+        return (CommandService<Model, ID>) instances.computeIfAbsent(entityClass, k -> new CommandService<>(entityClass, jpaRepository, springContext));
     }
 
     public Model create(Model entity) {
@@ -50,118 +64,283 @@ public class CommandService<Model, ID> {
         return entity;
     }
 
-
-    public Model update(Model entityFromDB, Object dto, String lookupFieldName, Class<?> dtoClass) throws Throwable {
-        BeanWrapper entityWrapper = new BeanWrapperImpl(entityFromDB);
-        Map<String, FieldMetadata> fieldsMetadata = DtoManager.getDtoByClassName(dtoClass);
-        for (Map.Entry<String, FieldMetadata> entry : fieldsMetadata.entrySet()) {
-            if (entry.getValue().getGetterMethodHandle() == null) {
-                continue;
+    /**
+     * Saves all entities in a single transaction. The inserts are sent to the database in JDBC batches of
+     * batchSize statements, and the persistence context is flushed and cleared after each batch so that its
+     * size does not grow with the number of entities. Note that Hibernate cannot batch inserts of entities
+     * with IDENTITY generated ids.
+     *
+     * @param entities     The entities to save
+     * @param batchSize    The number of entities flushed at a time
+     * @param resultMapper Maps each saved entity to the result, before the entity is detached
+     * @return The results of the saved entities, in the order of the given entities
+     */
+    public <R> List<R> createAll(List<Model> entities, int batchSize, Function<Model, R> resultMapper) {
+        return transactionTemplate.execute(status -> withJdbcBatchSize(batchSize, () -> {
+            List<R> results = new ArrayList<>(entities.size());
+            List<Model> batch = new ArrayList<>(batchSize);
+            for (Model entity : entities) {
+                batch.add(jpaRepository.save(entity));
+                if (batch.size() == batchSize) {
+                    flushBatch(batch, resultMapper, results);
+                    entityManager.clear();
+                }
             }
+            flushBatch(batch, resultMapper, results);
+            entityManager.clear();
+            return results;
+        }));
+    }
 
-            String fieldName = entry.getKey();
-            if (!fieldName.equals(lookupFieldName)) {
+    /**
+     * Partially updates entities in a single transaction, with the same semantics as
+     * {@link #update(Object, Object, String, Class, Set)} for each entity. The updates are sent to the database
+     * in JDBC batches of batchSize statements, and the entities of each batch are detached once flushed.
+     * The entities must have been loaded in the current transaction, otherwise each save merges a detached copy.
+     *
+     * @param entities        The entities to update
+     * @param dtos            The DTO of each entity
+     * @param fields          The fields present in the request of each entity
+     * @param lookupFieldName The lookup field, which is never updated
+     * @param dtoClass        The DTO class
+     * @param batchSize       The number of entities flushed at a time
+     * @param resultMapper    Maps each updated entity to the result, before the entity is detached
+     * @return The results of the updated entities, in the order of the given entities
+     */
+    public <R> List<R> updateAll(List<Model> entities, List<Object> dtos, List<Set<String>> fields, String lookupFieldName,
+                                 Class<?> dtoClass, int batchSize, Function<Model, R> resultMapper) {
+        return transactionTemplate.execute(status -> withJdbcBatchSize(batchSize, () -> {
+            List<R> results = new ArrayList<>(entities.size());
+            List<Model> batch = new ArrayList<>(batchSize);
+            for (int i = 0; i < entities.size(); i++) {
                 try {
-                    FieldMetadata fieldMetadata = entry.getValue();
-                    Expose exposeAnnotation = fieldMetadata.getExpose();
-                    ReferencedModel referenceModelAnnotation = fieldMetadata.getReferencedModel();
-                    String sourceFieldName = fieldName;
-                    if (exposeAnnotation != null && exposeAnnotation.source() != null) {
-                        sourceFieldName = exposeAnnotation.source();
-                    }
-                    if (referenceModelAnnotation != null) {
-                        sourceFieldName = referenceModelAnnotation.referencingField();
-                        String referencedModelName = referenceModelAnnotation.model();
-                        Class<?> referencedModel = Class.forName(referencedModelName);
-                        Object idValue = objectMapper.convertValue(entry.getValue().getGetterMethodHandle().invoke(dto), fieldMetadata.getFieldType());
-
-                        if (idValue != null) {
-                            Object referencedEntity = entityManager.find(referencedModel, idValue);
-                            if (referencedEntity == null) {
-                                throw new IllegalArgumentException("Invalid ID for " + fieldName);
-                            }
-                            entityWrapper.setPropertyValue(sourceFieldName, referencedEntity);
-                        }
-                    } else {
-                        setEntityFieldValue(entityFromDB, dto, entry, sourceFieldName);
-                    }
-                } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException |
-                         JsonProcessingException |
-                         ClassNotFoundException e) {
+                    batch.add(update(entities.get(i), dtos.get(i), lookupFieldName, dtoClass, fields.get(i)));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Throwable e) {
                     throw new RuntimeException("Failed to update entity", e);
                 }
+                if (batch.size() == batchSize) {
+                    detachBatch(flushBatch(batch, resultMapper, results));
+                }
             }
-        }
-        return jpaRepository.save(entityFromDB);
+            detachBatch(flushBatch(batch, resultMapper, results));
+            return results;
+        }));
     }
 
-    private void setEntityFieldValue(Model entityFromDB, Object dto, Map.Entry<String, FieldMetadata> entry, String sourceFieldName) {
+    private <R> R withJdbcBatchSize(int batchSize, Supplier<R> action) {
+        Session session = entityManager.unwrap(Session.class);
+        Integer previousBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
         try {
-            MethodHandles.Lookup lookup = MethodHandles.lookup();
-            MethodHandle setterMethodHandle = lookup.findVirtual(entityFromDB.getClass(),
-                    "set" + sourceFieldName.substring(0, 1).toUpperCase() + sourceFieldName.substring(1),
-                    MethodType.methodType(void.class, entry.getValue().getFieldType()));
-            Object value = objectMapper.convertValue(entry.getValue().getGetterMethodHandle().invoke(dto), entry.getValue().getFieldType());
-            setterMethodHandle.invoke(entityFromDB, value);
-        } catch (NoSuchMethodException e) {
-            throw new BadRequestException(e.getMessage());
-        } catch (Throwable e) {
-            throw new RuntimeException(e.getMessage());
+            return action.get();
+        } finally {
+            session.setJdbcBatchSize(previousBatchSize);
+        }
+    }
+
+    private <R> List<Model> flushBatch(List<Model> batch, Function<Model, R> resultMapper, List<R> results) {
+        List<Model> flushed = new ArrayList<>(batch);
+        batch.clear();
+        if (flushed.isEmpty()) {
+            return flushed;
+        }
+        entityManager.flush();
+        for (Model entity : flushed) {
+            results.add(resultMapper.apply(entity));
+        }
+        return flushed;
+    }
+
+    private void detachBatch(List<Model> batch) {
+        for (Model entity : batch) {
+            if (entityManager.contains(entity)) {
+                entityManager.detach(entity);
+            }
         }
     }
 
+    /**
+     * Loads the referenced models of the DTOs into the {@link ReferencedEntityCache} bound to the current thread,
+     * so that updating entities from them does not load each referenced entity separately.
+     */
+    public void prefetchReferences(Class<?> dtoClass, Collection<?> dtos) throws Throwable {
+        ReferencedEntityCache.prefetch(entityManager, dtoClass, dtos, defaultReferenceLoading);
+    }
+
+    public Model update(Model entityFromDB, Object dto, String lookupFieldName, Class<?> dtoClass) throws Throwable {
+        return applyUpdate(entityFromDB, dto, lookupFieldName, dtoClass).getEntity();
+    }
 
     public Model update(Model entityFromDB, Object dto, String lookupFieldName, Class<?> dtoClass, Set<String> fields) throws Throwable {
-        BeanWrapper entityWrapper = new BeanWrapperImpl(entityFromDB);
-        Map<String, FieldMetadata> fieldsMetadata = DtoManager.getDtoByClassName(dtoClass);
-        for (Map.Entry<String, FieldMetadata> entry : fieldsMetadata.entrySet()) {
-            String fieldName = entry.getKey();
-            FieldMetadata fieldMetadata = entry.getValue();
-            ReadOnly readOnly = fieldMetadata.getReadOnly();
-            Object fieldValue = fieldMetadata.getGetterMethodHandle().invoke(dto);
-            if (entry.getValue().getGetterMethodHandle() == null ||
-                    (!fields.contains(entry.getKey()) && fieldValue == null) ||
-                    entry.getKey().equals(lookupFieldName) ||
-                    (readOnly != null && fieldValue == null)
-            ) {
-                continue;
+        return applyUpdate(entityFromDB, dto, lookupFieldName, dtoClass, fields).getEntity();
+    }
+
+    /**
+     * Updates all fields of the entity from the DTO, except the lookup field. Fields whose value does not change are
+     * not set, and the entity is only saved if any field changed.
+     *
+     * @return The entity, and whether it changed
+     */
+    public UpdateResult<Model> applyUpdate(Model entityFromDB, Object dto, String lookupFieldName, Class<?> dtoClass) throws Throwable {
+        boolean changed = getEntityUpdater(dtoClass, entityFromDB).update(entityFromDB, dto, lookupFieldName, entityManager, objectMapper);
+        return changed ? new UpdateResult<>(jpaRepository.save(entityFromDB), true) : new UpdateResult<>(entityFromDB, false);
+    }
+
+    /**
+     * Partially updates the entity from the fields of the DTO present in the request. Fields whose value does not
+     * change are not set, and the entity is only saved if any field changed.
+     *
+     * @return The entity, and whether it changed
+     */
+    public UpdateResult<Model> applyUpdate(Model entityFromDB, Object dto, String lookupFieldName, Class<?> dtoClass, Set<String> fields) throws Throwable {
+        boolean changed = getEntityUpdater(dtoClass, entityFromDB).partialUpdate(entityFromDB, dto, lookupFieldName, fields, entityManager, objectMapper);
+        return changed ? new UpdateResult<>(jpaRepository.save(entityFromDB), true) : new UpdateResult<>(entityFromDB, false);
+    }
+
+    private EntityUpdater getEntityUpdater(Class<?> dtoClass, Object entity) {
+        Class<?> updatedClass = entityClass == null ? entity.getClass() : entityClass;
+        return entityUpdaters.computeIfAbsent(dtoClass, cls -> new EntityUpdater(cls, updatedClass, defaultReferenceLoading));
+    }
+
+    public void delete(Model entity) {
+        jpaRepository.delete(entity);
+    }
+
+    /**
+     * Deletes all records matching the search criteria with a single DELETE statement, without loading them.
+     * Cascades, orphan removal and entity lifecycle callbacks are not applied. Criteria on associations are
+     * matched through a subquery on the primary key, since a DELETE statement cannot join.
+     *
+     * @param searchCriteriaList The search criteria, must not be empty
+     * @return The number of deleted records
+     */
+    public int deleteAll(List<SearchCriteria> searchCriteriaList) {
+        if (searchCriteriaList.isEmpty()) {
+            throw new IllegalArgumentException("Deleting without search criteria is not allowed.");
+        }
+        if (entityClass == null) {
+            throw new IllegalStateException("Deleting by search criteria requires the entity class.");
+        }
+        return transactionTemplate.execute(status -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaDelete<Model> delete = builder.createCriteriaDelete(entityClass);
+            Root<Model> root = delete.from(entityClass);
+            delete.where(toStatementPredicate(delete, root, builder, searchCriteriaList));
+            if (delete.getRestriction() == null) {
+                throw new IllegalStateException("Refusing to delete without a WHERE clause.");
             }
-            try {
+            return entityManager.createQuery(delete).executeUpdate();
+        });
+    }
 
-                Expose exposeAnnotation = fieldMetadata.getExpose();
-                ReferencedModel referenceModelAnnotation = fieldMetadata.getReferencedModel();
-                String sourceFieldName = fieldName;
-                if (exposeAnnotation != null && exposeAnnotation.source() != null) {
-                    sourceFieldName = exposeAnnotation.source();
-                }
-                if (referenceModelAnnotation != null) {
-                    sourceFieldName = referenceModelAnnotation.referencingField();
-                    String referencedModelName = referenceModelAnnotation.model();
-                    Class<?> referencedModel = Class.forName(referencedModelName);
-                    Object idValue = objectMapper.convertValue(entry.getValue().getGetterMethodHandle().invoke(dto), fieldMetadata.getFieldType());
-
-                    if (idValue != null) {
-                        Object referencedEntity = entityManager.find(referencedModel, idValue);
-                        if (referencedEntity == null) {
-                            throw new IllegalArgumentException("Invalid ID for " + fieldName);
-                        }
-                        entityWrapper.setPropertyValue(sourceFieldName, referencedEntity);
-                    }
-                } else {
-                    setEntityFieldValue(entityFromDB, dto, entry, sourceFieldName);
+    /**
+     * Sets the given attributes on all records matching the search criteria with a single UPDATE statement,
+     * without loading them. Entity lifecycle callbacks and optimistic locking are not applied, and entities already
+     * loaded in the persistence context are not refreshed.
+     *
+     * @param searchCriteriaList The search criteria, must not be empty
+     * @param values             The new value of each attribute, see {@link #toUpdateValues}, must not be empty
+     * @return The number of updated records
+     */
+    public int updateAll(List<SearchCriteria> searchCriteriaList, Map<String, Object> values) {
+        if (searchCriteriaList.isEmpty()) {
+            throw new IllegalArgumentException("Updating without search criteria is not allowed.");
+        }
+        if (entityClass == null) {
+            throw new IllegalStateException("Updating by search criteria requires the entity class.");
+        }
+        if (values.isEmpty()) {
+            throw new BadRequestException("The request body has no updatable fields.");
+        }
+        return transactionTemplate.execute(status -> {
+            CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+            CriteriaUpdate<Model> update = builder.createCriteriaUpdate(entityClass);
+            Root<Model> root = update.from(entityClass);
+            for (Map.Entry<String, Object> value : values.entrySet()) {
+                update.set(root.get(value.getKey()), value.getValue());
+            }
+            update.where(toStatementPredicate(update, root, builder, searchCriteriaList));
+            if (update.getRestriction() == null) {
+                throw new IllegalStateException("Refusing to update without a WHERE clause.");
+            }
+            return entityManager.createQuery(update).executeUpdate();
+        });
+    }
+
+    /**
+     * Maps the present fields of a partial update DTO to the entity attributes they set, with the same rules as
+     * {@link #update(Object, Object, String, Class, Set)}: the lookup field and read-only fields are never set, and
+     * referenced models are set to the entity of the given id.
+     *
+     * @return The new value of each entity attribute
+     */
+    public Map<String, Object> toUpdateValues(Object dto, String lookupFieldName, Class<?> dtoClass, Set<String> fields) throws Throwable {
+        if (entityClass == null) {
+            throw new IllegalStateException("Updating by search criteria requires the entity class.");
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (EntityUpdater.FieldUpdate fieldUpdate : getEntityUpdater(dtoClass, null).getFieldUpdates()) {
+            String fieldName = fieldUpdate.getFieldName();
+            if (!fields.contains(fieldName) || fieldName.equals(lookupFieldName) || fieldUpdate.isReadOnly()) {
+                continue;
+            }
+            Object fieldValue = fieldUpdate.convert(fieldUpdate.getValue(dto), objectMapper);
+            if (fieldUpdate.getReferencedModel() != null && fieldValue != null) {
+                fieldValue = fieldUpdate.getReferencedEntity(entityManager, fieldValue);
+                if (fieldValue == null) {
+                    throw new ValidationException(fieldName, "Invalid ID for " + fieldName);
                 }
-            } catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException |
-                     JsonProcessingException |
-                     ClassNotFoundException e) {
-                throw new RuntimeException("Failed to update entity", e);
             }
+            if (fieldUpdate.getSourceFieldName().contains("__")) {
+                throw new BadRequestException(fieldName + " can not be updated by filter.");
+            }
+            values.put(fieldUpdate.getSourceFieldName(), fieldValue);
+        }
+        return values;
+    }
 
+    private Predicate toStatementPredicate(CommonAbstractCriteria statement, Root<Model> root, CriteriaBuilder builder,
+                                           List<SearchCriteria> searchCriteriaList) {
+        EntityType<Model> entityType = entityManager.getMetamodel().entity(entityClass);
+        if (!referencesAssociation(entityType, searchCriteriaList)) {
+            return toCriteriaPredicate(root, builder, searchCriteriaList);
         }
-        return jpaRepository.save(entityFromDB);
+        String idName = entityType.getId(entityType.getIdType().getJavaType()).getName();
+        Subquery<Object> subquery = statement.subquery(Object.class);
+        Root<Model> subqueryRoot = subquery.from(entityClass);
+        subquery.select(subqueryRoot.get(idName)).where(toCriteriaPredicate(subqueryRoot, builder, searchCriteriaList));
+        return root.get(idName).in(subquery);
     }
 
-    public void delete(Model entity) {
-        jpaRepository.delete(entity);
+    /**
+     * Builds the conjunction of the predicates of the search criteria. A criterion that yields no predicate, such as
+     * CONTAINS on a non-string attribute, would otherwise be dropped from the WHERE clause and widen the statement,
+     * so it is rejected.
+     */
+    private Predicate toCriteriaPredicate(Root<Model> root, CriteriaBuilder builder, List<SearchCriteria> searchCriteriaList) {
+        Predicate[] predicates = new Predicate[searchCriteriaList.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            SearchCriteria searchCriteria = searchCriteriaList.get(i);
+            Specification<Model> specification = specificationsBuilder.fromSearchCriteria(searchCriteria);
+            predicates[i] = specification.toPredicate(root, null, builder);
+            if (predicates[i] == null) {
+                throw new BadRequestException("Filter " + searchCriteria.getKey() + " with operation " +
+                        searchCriteria.getFilterOperation() + " is not supported on this field.");
+            }
+        }
+        return builder.and(predicates);
+    }
+
+    private static boolean referencesAssociation(EntityType<?> entityType, List<SearchCriteria> searchCriteriaList) {
+        for (SearchCriteria searchCriteria : searchCriteriaList) {
+            String attributeName = searchCriteria.getKey().split("__")[0];
+            if (searchCriteria.getKey().contains("__") || entityType.getAttribute(attributeName).isAssociation()) {
+                return true;
+            }
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,252 @@
+package io.github.nikanique.springrestframework.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nikanique.springrestframework.annotation.Expose;
+import io.github.nikanique.springrestframework.annotation.ReferencedModel;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+import io.github.nikanique.springrestframework.dto.DtoManager;
+import io.github.nikanique.springrestframework.dto.FieldMetadata;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import io.github.nikanique.springrestframework.orm.ReferencedEntityCache;
+import jakarta.persistence.EntityManager;
+import lombok.Getter;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.SimpleTypeConverter;
+import org.springframework.beans.TypeMismatchException;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The plan of updating an entity from a DTO, compiled once per DTO and entity class. The entity setters are
+ * resolved up front, the referenced model classes are loaded once, and values are only converted when their type
+ * differs from the DTO field type. Values equal to the entity's current value are not set, so that unchanged
+ * attributes are not dirtied and an update that changes nothing can skip the write.
+ */
+class EntityUpdater {
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    @Getter
+    private final FieldUpdate[] fieldUpdates;
+
+    EntityUpdater(Class<?> dtoClass, Class<?> entityClass, ReferenceLoading defaultLoading) {
+        List<FieldUpdate> updates = new ArrayList<>();
+        for (Map.Entry<String, FieldMetadata> entry : DtoManager.getDtoByClassName(dtoClass).entrySet()) {
+            if (entry.getValue().getGetterMethodHandle() != null) {
+                updates.add(new FieldUpdate(entry.getKey(), entry.getValue(), entityClass, defaultLoading));
+            }
+        }
+        this.fieldUpdates = updates.toArray(new FieldUpdate[0]);
+    }
+
+    /**
+     * Sets all fields of the DTO, except the lookup field, on the entity.
+     *
+     * @return Whether any field of the entity changed
+     */
+    boolean update(Object entity, Object dto, String lookupFieldName, EntityManager entityManager, ObjectMapper objectMapper) throws Throwable {
+        boolean changed = false;
+        for (FieldUpdate fieldUpdate : fieldUpdates) {
+            if (!fieldUpdate.fieldName.equals(lookupFieldName)) {
+                changed |= fieldUpdate.apply(entity, fieldUpdate.getValue(dto), entityManager, objectMapper);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Sets the fields of the DTO present in the request, or having a value, on the entity. The lookup field and
+     * read-only fields without a value are not set.
+     *
+     * @return Whether any field of the entity changed
+     */
+    boolean partialUpdate(Object entity, Object dto, String lookupFieldName, Set<String> fields, EntityManager entityManager, ObjectMapper objectMapper) throws Throwable {
+        boolean changed = false;
+        for (FieldUpdate fieldUpdate : fieldUpdates) {
+            Object fieldValue = fieldUpdate.getValue(dto);
+            if ((!fields.contains(fieldUpdate.fieldName) && fieldValue == null) ||
+                    fieldUpdate.fieldName.equals(lookupFieldName) ||
+                    (fieldUpdate.readOnly && fieldValue == null)) {
+                continue;
+            }
+            changed |= fieldUpdate.apply(entity, fieldValue, entityManager, objectMapper);
+        }
+        return changed;
+    }
+
+    @Getter
+    static final class FieldUpdate {
+        private final String fieldName;
+        private final String sourceFieldName;
+        private final boolean readOnly;
+        private final Class<?> fieldType;
+        private final Class<?> referencedModel;
+        private final boolean useReference;
+        private final MethodHandle getter;
+        private final MethodHandle setter;
+        private final MethodHandle entityGetter;
+        private final String setterError;
+
+        private FieldUpdate(String fieldName, FieldMetadata fieldMetadata, Class<?> entityClass, ReferenceLoading defaultLoading) {
+            this.fieldName = fieldName;
+            this.readOnly = fieldMetadata.getReadOnly() != null;
+            this.fieldType = fieldMetadata.getFieldType();
+            this.getter = fieldMetadata.getGetterMethodHandle().asType(GETTER_TYPE);
+
+            Expose expose = fieldMetadata.getExpose();
+            ReferencedModel referencedModelAnnotation = fieldMetadata.getReferencedModel();
+            this.useReference = referencedModelAnnotation != null && ReferenceLoading.useReference(referencedModelAnnotation, defaultLoading);
+            String source = expose != null && !expose.source().equals("not-provided") ? expose.source() : fieldName;
+            MethodHandle resolvedSetter = null;
+            String resolvedSetterError = null;
+            if (referencedModelAnnotation != null) {
+                source = referencedModelAnnotation.referencingField();
+                try {
+                    this.referencedModel = Class.forName(referencedModelAnnotation.model());
+                } catch (ClassNotFoundException e) {
+                    throw new IllegalArgumentException("Referenced model " + referencedModelAnnotation.model() + " of " + fieldName + " does not exist", e);
+                }
+                // Nested referencing fields are set through a BeanWrapper on each update
+                PropertyDescriptor descriptor = source.contains(".") ? null : BeanUtils.getPropertyDescriptor(entityClass, source);
+                if (descriptor != null && descriptor.getWriteMethod() != null) {
+                    ReflectionUtils.makeAccessible(descriptor.getWriteMethod());
+                    try {
+                        resolvedSetter = MethodHandles.lookup().unreflect(descriptor.getWriteMethod()).asType(SETTER_TYPE);
+                    } catch (IllegalAccessException e) {
+                        resolvedSetterError = e.getMessage();
+                    }
+                }
+            } else {
+                this.referencedModel = null;
+                try {
+                    resolvedSetter = MethodHandles.lookup().findVirtual(entityClass,
+                            "set" + source.substring(0, 1).toUpperCase() + source.substring(1),
+                            MethodType.methodType(void.class, fieldType)).asType(SETTER_TYPE);
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    // Reported when the field is updated, so that DTOs with unmapped fields can still be compiled
+                    resolvedSetterError = e.getMessage();
+                }
+            }
+            this.sourceFieldName = source;
+            this.setter = resolvedSetter;
+            this.entityGetter = resolvedSetter == null ? null : findEntityGetter(entityClass, source);
+            this.setterError = resolvedSetterError;
+        }
+
+        private static MethodHandle findEntityGetter(Class<?> entityClass, String propertyName) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(entityClass, propertyName);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                return null;
+            }
+            try {
+                ReflectionUtils.makeAccessible(descriptor.getReadMethod());
+                return MethodHandles.lookup().unreflect(descriptor.getReadMethod()).asType(GETTER_TYPE);
+            } catch (IllegalAccessException e) {
+                return null;
+            }
+        }
+
+        Object getValue(Object dto) throws Throwable {
+            return (Object) getter.invokeExact(dto);
+        }
+
+        /**
+         * Loads the referenced entity of an id, or attaches a proxy of it without loading when the reference is
+         * configured with {@link ReferenceLoading#REFERENCE}.
+         *
+         * @return The referenced entity, or null if it does not exist
+         */
+        Object getReferencedEntity(EntityManager entityManager, Object idValue) {
+            return useReference ? entityManager.getReference(referencedModel, idValue)
+                    : ReferencedEntityCache.find(entityManager, referencedModel, idValue);
+        }
+
+        /**
+         * Converts a DTO value to the field type, only when its type differs.
+         */
+        Object convert(Object value, ObjectMapper objectMapper) {
+            if (value == null || ClassUtils.resolvePrimitiveIfNecessary(fieldType).isInstance(value)) {
+                return value;
+            }
+            return objectMapper.convertValue(value, fieldType);
+        }
+
+        /**
+         * Sets the value on the entity, unless the entity already holds it.
+         *
+         * @return Whether the entity changed
+         */
+        private boolean apply(Object entity, Object value, EntityManager entityManager, ObjectMapper objectMapper) throws Throwable {
+            if (referencedModel == null) {
+                if (setter == null) {
+                    throw new BadRequestException(setterError);
+                }
+                Object convertedValue = convert(value, objectMapper);
+                if (entityGetter != null && valuesEqual((Object) entityGetter.invokeExact(entity), convertedValue)) {
+                    return false;
+                }
+                setter.invokeExact(entity, convertedValue);
+                return true;
+            }
+            Object idValue = convert(value, objectMapper);
+            if (idValue == null) {
+                return false;
+            }
+            // Compare the ids, so that an unchanged reference is not loaded
+            if (entityGetter != null) {
+                Object currentEntity = (Object) entityGetter.invokeExact(entity);
+                if (currentEntity != null && toReferencedIdType(idValue, entityManager).equals(
+                        entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(currentEntity))) {
+                    return false;
+                }
+            }
+            Object referencedEntity = getReferencedEntity(entityManager, idValue);
+            if (referencedEntity == null) {
+                throw new IllegalArgumentException("Invalid ID for " + fieldName);
+            }
+            if (setter != null) {
+                setter.invokeExact(entity, referencedEntity);
+            } else {
+                new BeanWrapperImpl(entity).setPropertyValue(sourceFieldName, referencedEntity);
+            }
+            return true;
+        }
+
+        /**
+         * Converts an id of the DTO field type (e.g. Integer) to the id type of the referenced model (e.g. Long).
+         * An id that cannot be converted is returned as it is, and is reported when the reference is loaded.
+         */
+        private Object toReferencedIdType(Object idValue, EntityManager entityManager) {
+            Class<?> idType = entityManager.getMetamodel().entity(referencedModel).getIdType().getJavaType();
+            try {
+                return new SimpleTypeConverter().convertIfNecessary(idValue, idType);
+            } catch (TypeMismatchException e) {
+                return idValue;
+            }
+        }
+
+        private static boolean valuesEqual(Object currentValue, Object newValue) {
+            if (currentValue instanceof BigDecimal currentDecimal && newValue instanceof BigDecimal newDecimal) {
+                return currentDecimal.compareTo(newDecimal) == 0;
+            }
+            // A Timestamp loaded from the database never equals the Date of the DTO
+            if (currentValue instanceof Date currentDate && newValue instanceof Date newDate) {
+                return currentDate.getTime() == newDate.getTime();
+            }
+            return Objects.equals(currentValue, newValue);
+        }
+    }
+}
@@ -5,27 +5,41 @@ import io.github.nikanique.springrestframework.annotation.SrfQuery;
 import io.github.nikanique.springrestframework.orm.SearchCriteria;
 import io.github.nikanique.springrestframework.orm.SpecificationsBuilder;
 import io.github.nikanique.springrestframework.utilities.StringUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
 import net.bytebuddy.implementation.FieldAccessor;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.context.ApplicationContext;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.data.domain.*;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.query.QueryUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 
 @SuppressWarnings({"unchecked", "rawtypes"})
@@ -40,10 +54,18 @@ public class QueryService<Model> {
     private final Map<Method, String> methodQueries = new HashMap<>();
     private final Map<Method, MethodHandle> methodHandles = new HashMap<>();
 
-    private QueryService(JpaSpecificationExecutor<Model> jpaSpecificationExecutor, ApplicationContext springContext) {
+    private final Class<Model> entityClass;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private QueryService(Class<Model> entityClass, JpaSpecificationExecutor<Model> jpaSpecificationExecutor, ApplicationContext springContext) {
+        this.entityClass = entityClass;
         this.jpaSpecificationExecutor = jpaSpecificationExecutor;
         this.specificationsBuilder = springContext.getBean(SpecificationsBuilder.class);
         this.jdbcTemplate = springContext.getBean(JdbcTemplate.class);
+        this.entityManager = springContext.getBean(EntityManager.class);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(springContext.getBean(PlatformTransactionManager.class));
+        this.readOnlyTransactionTemplate.setReadOnly(true);
 
     }
 
@@ -52,11 +74,24 @@ public class QueryService<Model> {
             JpaSpecificationExecutor<Model> jpaSpecificationExecutor,
             ApplicationContext springContext) {
 
-        return (QueryService<Model>) instances.computeIfAbsent(entityClass, k -> new QueryService<>(jpaSpecificationExecutor, springContext));
+        return (QueryService<Model>) instances.computeIfAbsent(entityClass, k -> new QueryService<>(entityClass, jpaSpecificationExecutor, springContext));
     }
 
     public Optional<Object> getObject(List<SearchCriteria> searchCriteriaList, Method queryMethod) throws Throwable {
+        return getObject(searchCriteriaList, queryMethod, Collections.emptyList());
+    }
+
+    /**
+     * Finds a single object, fetching the associations on the given paths in the same query.
+     *
+     * @param searchCriteriaList The search criteria
+     * @param queryMethod        The repository method to query with
+     * @param fetchPaths         The "__"-separated attribute paths that will be read from the object
+     * @return The object, if found
+     */
+    public Optional<Object> getObject(List<SearchCriteria> searchCriteriaList, Method queryMethod, List<String> fetchPaths) throws Throwable {
         Specification specifications = this.specificationsBuilder.fromSearchCriteriaList(searchCriteriaList);
+        specifications = this.specificationsBuilder.withFetchGraph(specifications, fetchPaths);
         if (getSqlQuery(queryMethod) != null) {
             return Optional.of(executeQueryForObject(getSqlQuery(queryMethod), searchCriteriaList));
         }
@@ -77,8 +112,25 @@ public class QueryService<Model> {
         return jpaSpecificationExecutor.findOne(specifications);
     }
 
+    public List<Object> getList(List<SearchCriteria> searchCriteriaList) {
+        Specification specifications = this.specificationsBuilder.fromSearchCriteriaList(searchCriteriaList);
+        return jpaSpecificationExecutor.findAll(specifications);
+    }
+
     public Page<Object> getPagedlist(List<SearchCriteria> searchCriteriaList, int page, int size, Sort.Direction direction, String sortBy, Method queryMethod) throws Throwable {
+        return getPagedlist(searchCriteriaList, page, size, direction, sortBy, queryMethod, Collections.emptyList());
+    }
+
+    /**
+     * Finds a page of objects, fetching the associations on the given paths in the same query instead of
+     * loading them lazily for each row.
+     *
+     * @param fetchPaths The "__"-separated attribute paths that will be read from each object
+     * @return The page of objects
+     */
+    public Page<Object> getPagedlist(List<SearchCriteria> searchCriteriaList, int page, int size, Sort.Direction direction, String sortBy, Method queryMethod, List<String> fetchPaths) throws Throwable {
         Specification specifications = this.specificationsBuilder.fromSearchCriteriaList(searchCriteriaList);
+        specifications = this.specificationsBuilder.withFetchGraph(specifications, fetchPaths);
         Pageable pageable;
         if (sortBy.isEmpty()) {
             pageable = PageRequest.of(page, size, Sort.unsorted());
@@ -102,6 +154,130 @@ public class QueryService<Model> {
         return (Page<Object>) jpaSpecificationExecutor.findAll(specifications, pageable);
     }
 
+    /**
+     * Streams all objects matching the search criteria to the row handler, without counting or paging.
+     * The rows are read with a database cursor in a read-only transaction, fetching fetchSize rows at a time,
+     * and the persistence context is cleared every fetchSize rows so it does not grow with the result.
+     * <p>
+     * When the query method has an {@link SrfQuery}, its SQL is streamed with a JDBC cursor instead, so that its
+     * scoping applies. Other custom repository methods return pages and cannot be streamed, see
+     * {@link #canStreamList(Method)}.
+     *
+     * @param searchCriteriaList The search criteria
+     * @param direction          The sort direction
+     * @param sortBy             The attribute to sort by, or an empty string for no sorting
+     * @param queryMethod        The repository method the list endpoint queries with
+     * @param fetchSize          The number of rows fetched from the database at a time
+     * @param fetchPaths         The "__"-separated attribute paths that will be read from each object
+     * @param rowHandler         The handler of each object
+     * @throws IOException If the row handler fails to write an object
+     */
+    public void streamList(List<SearchCriteria> searchCriteriaList, Sort.Direction direction, String sortBy, Method queryMethod,
+                           int fetchSize, List<String> fetchPaths, RowHandler rowHandler) throws IOException {
+        try {
+            readOnlyTransactionTemplate.executeWithoutResult(status -> {
+                try {
+                    if (getSqlQuery(queryMethod) != null) {
+                        streamSqlQuery(getSqlQuery(queryMethod), searchCriteriaList, direction, sortBy, fetchSize, rowHandler);
+                    } else if (isDefaultQueryMethod(queryMethod)) {
+                        streamQuery(searchCriteriaList, direction, sortBy, fetchSize, fetchPaths, rowHandler);
+                    } else {
+                        throw new UnsupportedOperationException("The query method " + queryMethod.getName() + " cannot be streamed");
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                } catch (RuntimeException | Error e) {
+                    throw e;
+                } catch (Throwable e) {
+                    throw new RuntimeException("Failed to query " + queryMethod.getName(), e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Returns whether {@link #streamList} can stream the objects of the query method. Custom repository methods
+     * without an {@link SrfQuery} return pages, which would be read with a COUNT and an OFFSET scan per page.
+     *
+     * @param queryMethod The repository method the list endpoint queries with
+     * @return true if the query method is the default findAll or has an SrfQuery
+     */
+    public boolean canStreamList(Method queryMethod) {
+        return isDefaultQueryMethod(queryMethod) || getSqlQuery(queryMethod) != null;
+    }
+
+    private boolean isDefaultQueryMethod(Method queryMethod) {
+        return queryMethod == null || (queryMethod.getName().equals("findAll") && getSqlQuery(queryMethod) == null);
+    }
+
+    private void streamQuery(List<SearchCriteria> searchCriteriaList, Sort.Direction direction, String sortBy, int fetchSize,
+                             List<String> fetchPaths, RowHandler rowHandler) throws IOException {
+        Specification<Model> specifications = this.specificationsBuilder.fromSearchCriteriaList(searchCriteriaList);
+        Specification<Model> fetchSpecifications = this.specificationsBuilder.withFetchGraph(specifications, fetchPaths);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Model> query = criteriaBuilder.createQuery(entityClass);
+        Root<Model> root = query.from(entityClass);
+        query.select(root);
+        if (fetchSpecifications != null) {
+            Predicate predicate = fetchSpecifications.toPredicate(root, query, criteriaBuilder);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        if (!sortBy.isEmpty()) {
+            query.orderBy(QueryUtils.toOrders(Sort.by(direction, sortBy.replace("__", ".")), root, criteriaBuilder));
+        }
+
+        try (Stream<Model> rows = entityManager.createQuery(query)
+                .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream()) {
+            Iterator<Model> iterator = rows.iterator();
+            int rowCount = 0;
+            while (iterator.hasNext()) {
+                rowHandler.handle(iterator.next());
+                // Clearing also detaches the fetched and lazily loaded associations of the rows
+                if (++rowCount % fetchSize == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
+    }
+
+    private void streamSqlQuery(String sqlQuery, List<SearchCriteria> searchCriteriaList, Sort.Direction direction, String sortBy,
+                                int fetchSize, RowHandler rowHandler) {
+        String whereClause = SearchCriteria.generateSqlWhereClause(searchCriteriaList);
+        String orderByClause = sortBy.isEmpty() ? "" : buildOrderByClause(Sort.by(direction, sortBy));
+        String finalQuery = sqlQuery.replace("${whereClause}", whereClause)
+                .replace("${pagination}", orderByClause);
+
+        Class<?>[] rowClass = new Class<?>[1];
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(finalQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(fetchSize);
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            if (rowClass[0] == null) {
+                rowClass[0] = getOrCreateDynamicClass(resultSet, sqlQuery);
+            }
+            try {
+                rowHandler.handle(createRowObject(resultSet, rowClass[0]));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Handles a single object of a streamed list.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        void handle(Object row) throws IOException;
+    }
+
     public Object executeQueryForObject(String sqlQuery, List<SearchCriteria> searchCriteriaList) {
         String whereClause = SearchCriteria.generateSqlWhereClause(searchCriteriaList);
 
@@ -216,12 +392,15 @@ public class QueryService<Model> {
         if (pageable == null) {
             return "";
         }
-        String sortColumn = pageable.getSort().toString().replace(":", " ");
         int pageNumber = pageable.getPageNumber();
         int pageSize = pageable.getPageSize();
         int offset = pageNumber * pageSize;
-        String orderBy = sortColumn.equals("UNSORTED") ? "" : " ORDER BY " + sortColumn;
-        return orderBy + " " + "LIMIT " + pageSize + " OFFSET " + offset;
+        return buildOrderByClause(pageable.getSort()) + " " + "LIMIT " + pageSize + " OFFSET " + offset;
+    }
+
+    private String buildOrderByClause(Sort sort) {
+        String sortColumn = sort.toString().replace(":", " ");
+        return sortColumn.equals("UNSORTED") ? "" : " ORDER BY " + sortColumn;
     }
 
 
@@ -0,0 +1,16 @@
+package io.github.nikanique.springrestframework.services;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * The updated entity, and whether the update changed any of its fields. Unchanged entities are not saved.
+ *
+ * @param <Model> The model
+ */
+@Getter
+@AllArgsConstructor
+public class UpdateResult<Model> {
+    private final Model entity;
+    private final boolean changed;
+}
@@ -6,8 +6,15 @@ import io.github.nikanique.springrestframework.annotation.ReadOnly;
 import io.github.nikanique.springrestframework.annotation.WriteOnly;
 import io.github.nikanique.springrestframework.common.EndpointType;
 import io.github.nikanique.springrestframework.common.FieldType;
+import io.github.nikanique.springrestframework.filter.Filter;
+import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.serializer.Serializer;
+import io.swagger.v3.oas.models.Operation;
 import io.swagger.v3.oas.models.media.ArraySchema;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
+import io.swagger.v3.oas.models.parameters.Parameter;
 
 import java.lang.reflect.Field;
 import java.lang.reflect.ParameterizedType;
@@ -16,6 +23,7 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @SuppressWarnings("rawtypes")
 public class SwaggerSchemaGenerator {
@@ -33,6 +41,36 @@ public class SwaggerSchemaGenerator {
         typeMapping.put(short.class, Short.class);
     }
 
+    /**
+     * Adds a query parameter for each filter of a filter set, BETWEEN filters get a From and a To parameter.
+     */
+    public static void addFilterParameters(Operation operation, Set<Filter> filters) {
+        for (Filter filter : filters) {
+            if (filter.getOperation().equals(FilterOperation.BETWEEN)) {
+                String fromParameterName = filter.getName() + "From";
+                String toParameterName = filter.getName() + "To";
+                operation.addParametersItem(new Parameter().name(fromParameterName).in("query")
+                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
+                        .required(filter.isRequired())
+                        .description(filter.getHelpText() == null ? "Filter operator :" + FilterOperation.GREATER_OR_EQUAL.name() : filter.getHelpText()));
+                operation.addParametersItem(new Parameter().name(toParameterName).in("query")
+                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
+                        .required(filter.isRequired())
+                        .description(filter.getHelpText() == null ? "Filter operator :" + FilterOperation.LESS_OR_EQUAL.name() : filter.getHelpText()));
+            } else if (filter.getOperation().equals(FilterOperation.IN)) {
+                operation.addParametersItem(new Parameter().name(filter.getName()).in("query")
+                        .schema(new Schema().type("string"))
+                        .required(filter.isRequired())
+                        .description(filter.getHelpText() == null ? "Filter operator :" + filter.getOperation().name() : filter.getHelpText()));
+            } else {
+                operation.addParametersItem(new Parameter().name(filter.getName()).in("query")
+                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
+                        .required(filter.isRequired())
+                        .description(filter.getHelpText() == null ? "Filter operator :" + filter.getOperation().name() : filter.getHelpText()));
+            }
+        }
+    }
+
     public static <T, U> Schema<T> generatePagedResponseSchema(Class<T> clazz, Class<U> resultClass, EndpointType endpointType) {
         Schema<T> schema = new Schema<>();
         schema.setType("object");
@@ -52,6 +90,35 @@ public class SwaggerSchemaGenerator {
         return schema;
     }
 
+    /**
+     * Generates the content of a successful response, which can be encoded as JSON, and as CBOR or Smile when their
+     * Jackson module is present.
+     *
+     * @param responseSchema The schema of the response body
+     * @return The response content
+     */
+    public static Content generateResponseContent(Schema<?> responseSchema) {
+        Content content = new Content().addMediaType(Serializer.JSON_MEDIA_TYPE, new MediaType().schema(responseSchema));
+        if (Serializer.CBOR_PRESENT) {
+            content.addMediaType(Serializer.CBOR_MEDIA_TYPE, new MediaType().schema(responseSchema));
+        }
+        if (Serializer.SMILE_PRESENT) {
+            content.addMediaType(Serializer.SMILE_MEDIA_TYPE, new MediaType().schema(responseSchema));
+        }
+        return content;
+    }
+
+    public static void addFieldSelectionParameters(Operation operation) {
+        operation.addParametersItem(new Parameter().name("fields").in("query")
+                .schema(new Schema().type("string"))
+                .required(false)
+                .description("Comma-separated fields to include in the response, nested fields are separated by __ (eg. course__title)"));
+        operation.addParametersItem(new Parameter().name("exclude").in("query")
+                .schema(new Schema().type("string"))
+                .required(false)
+                .description("Comma-separated fields to exclude from the response, nested fields are separated by __ (eg. course__title)"));
+    }
+
     // Function to generate schema based on class structure
     public static <T> Schema<T> generateSchema(Class<T> clazz, EndpointType endpointType) {
         Schema<T> schema = new Schema<>();
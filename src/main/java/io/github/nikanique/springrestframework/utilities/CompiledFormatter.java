@@ -0,0 +1,13 @@
+package io.github.nikanique.springrestframework.utilities;
+
+/**
+ * An immutable, thread-safe formatter compiled once from an {@code @Expose(format=...)} pattern.
+ * Use {@link ValueFormatter#compile(Class, String)} to create one.
+ */
+@FunctionalInterface
+public interface CompiledFormatter {
+
+    CompiledFormatter NONE = value -> value;
+
+    Object format(Object value);
+}
@@ -5,11 +5,64 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 
 public class MethodReflectionHelper {
+    private static final MethodType TRANSFORMER_METHOD_TYPE = MethodType.methodType(Object.class, Object.class);
 
 
+    /**
+     * Resolves a transformer method given by its full name (e.g. com.example.StudentDto.maskName).
+     *
+     * @param fullMethodName The full name of the method
+     * @return A MethodHandle of type (Object)Object
+     * @throws IllegalArgumentException If the method does not exist or has the wrong signature
+     */
+    public static MethodHandle findTransformerMethod(String fullMethodName) {
+        int lastDotIndex = fullMethodName.lastIndexOf(".");
+        if (lastDotIndex == -1 || lastDotIndex == fullMethodName.length() - 1) {
+            throw new IllegalArgumentException("Invalid full method name");
+        }
+        String className = fullMethodName.substring(0, lastDotIndex);
+        String methodName = fullMethodName.substring(lastDotIndex + 1);
+        try {
+            return findTransformerMethod(Class.forName(className), methodName);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Class of transformer method " + fullMethodName + " is not found", e);
+        }
+    }
+
+    /**
+     * Resolves a transformer method. A transformer method must be a public static method
+     * accepting a single Object argument.
+     *
+     * @param methodClass The class declaring the method
+     * @param methodName  The name of the method
+     * @return A MethodHandle of type (Object)Object
+     * @throws IllegalArgumentException If the method does not exist or has the wrong signature
+     */
+    public static MethodHandle findTransformerMethod(Class<?> methodClass, String methodName) {
+        String fullMethodName = methodClass.getName() + "." + methodName;
+        try {
+            Method method = methodClass.getMethod(methodName, Object.class);
+            if (!Modifier.isStatic(method.getModifiers())) {
+                throw new IllegalArgumentException("Transformer method " + fullMethodName + " must be static");
+            }
+            if (method.getReturnType() == void.class) {
+                throw new IllegalArgumentException("Transformer method " + fullMethodName + " must return a value");
+            }
+            return MethodHandles.lookup().unreflect(method).asType(TRANSFORMER_METHOD_TYPE);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("Transformer method " + fullMethodName + "(Object) is not found", e);
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException("Transformer method " + fullMethodName + " is not accessible", e);
+        }
+    }
+
     public static Object invokeMethodFromString(String fullMethodName, Object argument) {
         int lastDotIndex = fullMethodName.lastIndexOf(".");
         if (lastDotIndex == -1 || lastDotIndex == fullMethodName.length() - 1) {
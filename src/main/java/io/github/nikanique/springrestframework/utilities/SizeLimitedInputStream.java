@@ -0,0 +1,58 @@
+package io.github.nikanique.springrestframework.utilities;
+
+import io.github.nikanique.springrestframework.exceptions.PayloadTooLargeException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An input stream that fails with a {@link PayloadTooLargeException} as soon as more than
+ * maxSize bytes are read, so an oversized request body is never read completely.
+ */
+public class SizeLimitedInputStream extends FilterInputStream {
+    private final long maxSize;
+    private long readSize;
+
+    public SizeLimitedInputStream(InputStream inputStream, long maxSize) {
+        super(inputStream);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int value = super.read();
+        if (value != -1) {
+            count(1);
+        }
+        return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int readLength = super.read(buffer, offset, length);
+        if (readLength > 0) {
+            count(readLength);
+        }
+        return readLength;
+    }
+
+    @Override
+    public long skip(long length) throws IOException {
+        long skippedLength = super.skip(length);
+        count(skippedLength);
+        return skippedLength;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void count(long length) {
+        readSize += length;
+        if (readSize > maxSize) {
+            throw new PayloadTooLargeException("Request body exceeds the maximum size of " + maxSize + " bytes.");
+        }
+    }
+}
@@ -3,8 +3,13 @@ package io.github.nikanique.springrestframework.utilities;
 
 import io.github.nikanique.springrestframework.common.FieldType;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
 import java.util.Date;
 import java.util.regex.Pattern;
 
@@ -12,80 +17,162 @@ public class ValueFormatter {
     private static final Pattern DECIML_POINT_PATTERN = Pattern.compile("\\{\\.\\d{1,2}f}");
 
     public static Object formatValue(Object value, FieldType outputType, String format) {
-        // Cast the value to the desired type if outputType is not null
+        return compile(outputType, format).format(value);
+    }
 
-        if (format == null) {
-            return value;
-        }
+    /**
+     * Compiles the format of a field into a formatter. java.util.Date values are formatted using
+     * SimpleDateFormat patterns, java.time values using DateTimeFormatter patterns, numbers using DecimalFormat patterns or the {.Nf} rounding pattern.
+     *
+     * @param outputType The field type
+     * @param format     The format pattern, or null if the field is not formatted
+     * @return The compiled formatter
+     */
+    public static CompiledFormatter compile(FieldType outputType, String format) {
+        return compile(getJavaType(outputType), format);
+    }
 
-        if (outputType != null) {
-            value = castToType(value, outputType);
+    /**
+     * Compiles the format of a field into a formatter. java.util.Date values are formatted using
+     * SimpleDateFormat patterns, java.time values using DateTimeFormatter patterns, numbers using DecimalFormat patterns or the {.Nf} rounding pattern.
+     *
+     * @param valueType The declared type of the field
+     * @param format    The format pattern, or null if the field is not formatted
+     * @return The compiled formatter
+     * @throws IllegalArgumentException If the format is not a valid pattern for the value type
+     */
+    public static CompiledFormatter compile(Class<?> valueType, String format) {
+        if (format == null || valueType == null) {
+            return CompiledFormatter.NONE;
         }
 
-
-        // Format DateTime if outputType is DATE_TIME and format is not null
-        if (outputType.isDateTime()) {
-            return formatDate((Date) value, format);
+        if (Date.class.isAssignableFrom(valueType)) {
+            return new DateValueFormatter(format);
         }
-
-        // Format Float if outputType is FLOAT and format is not null
-        if ((outputType == FieldType.FLOAT || outputType == FieldType.DOUBLE)) {
-            return formatFloatAndDouble(value, format);
+        if (TemporalAccessor.class.isAssignableFrom(valueType)) {
+            return new DateTimeValueFormatter(format);
         }
 
-
-        // Format numeric types (INT and FLOAT) with ',' separator if format is not null
-        if ((outputType == FieldType.INTEGER || outputType == FieldType.LONG)) {
-            return formatIntegerAndLong(value, format);
+        if (isNumberType(valueType)) {
+            if (DECIML_POINT_PATTERN.matcher(format).matches()) {
+                return new DecimalPointFormatter(Integer.parseInt(format.substring(2, format.indexOf("f}"))));
+            }
+            return new NumberFormatter(format);
         }
 
-        return value;
+        return CompiledFormatter.NONE;
     }
 
-    private static Object castToType(Object value, FieldType outputType) {
-        // Handle casting based on the outputType
-        switch (outputType) {
+    private static Class<?> getJavaType(FieldType fieldType) {
+        if (fieldType == null) {
+            return null;
+        }
+        switch (fieldType) {
             case INTEGER:
-                return Integer.parseInt(value.toString());
-            case STRING:
-                return value.toString();
+                return Integer.class;
             case FLOAT:
-                return Float.parseFloat(value.toString());
-            case LONG:
-                return Long.parseLong(value.toString());
+                return Float.class;
             case DOUBLE:
-                return Double.parseDouble(value.toString());
+                return Double.class;
+            case LONG:
+                return Long.class;
             case DATE_TIME:
-                // Assuming value is already of type Date
-                return value;
+                return Date.class;
+            case TIMESTAMP:
+                return java.sql.Timestamp.class;
+            case BOOLEAN:
+                return Boolean.class;
             default:
-                return value;
+                return String.class;
         }
     }
 
-    private static String formatDate(Date date, String format) {
-        SimpleDateFormat sdf = new SimpleDateFormat(format);
-        return sdf.format(date);
+    private static boolean isNumberType(Class<?> valueType) {
+        return Number.class.isAssignableFrom(valueType) ||
+                valueType == int.class ||
+                valueType == long.class ||
+                valueType == short.class ||
+                valueType == byte.class ||
+                valueType == float.class ||
+                valueType == double.class;
+    }
+
+    private static boolean isIntegral(Number value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
     }
 
-    private static Object formatFloatAndDouble(Object value, String format) {
-        if (DECIML_POINT_PATTERN.matcher(format).matches()) {
-            int decimalPoints = Integer.parseInt(format.substring(2, format.indexOf("f}"))); // Extract the number of decimal points from the format string
-            return roundToDecimal(Double.parseDouble(value.toString()), decimalPoints);
+    private static class DateValueFormatter implements CompiledFormatter {
+        // SimpleDateFormat is not thread-safe, so each thread formats with its own copy of the compiled pattern
+        private final ThreadLocal<SimpleDateFormat> dateFormat;
+
+        DateValueFormatter(String format) {
+            SimpleDateFormat compiledFormat = new SimpleDateFormat(format);
+            this.dateFormat = ThreadLocal.withInitial(() -> (SimpleDateFormat) compiledFormat.clone());
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value instanceof Date) {
+                return dateFormat.get().format(value);
+            }
+            return value;
         }
-        DecimalFormat df = new DecimalFormat(format);
-        return df.format(value);
     }
 
-    private static double roundToDecimal(double value, int decimalPoints) {
-        double powerOfTen = Math.pow(10, decimalPoints);
-        return Math.round(value * powerOfTen) / powerOfTen;
+    private static class DateTimeValueFormatter implements CompiledFormatter {
+        private final DateTimeFormatter formatter;
+
+        DateTimeValueFormatter(String format) {
+            this.formatter = DateTimeFormatter.ofPattern(format).withZone(ZoneId.systemDefault());
+        }
+
+        @Override
+        public Object format(Object value) {
+            if (value instanceof TemporalAccessor) {
+                return formatter.format((TemporalAccessor) value);
+            }
+            return value;
+        }
     }
 
-    private static String formatIntegerAndLong(Object value, String format) {
-        // Format numeric value with ',' separator and apply decimal formatting if specified
-        DecimalFormat df = new DecimalFormat(format);
-        return df.format(value);
+    private static class DecimalPointFormatter implements CompiledFormatter {
+        private final double powerOfTen;
+
+        DecimalPointFormatter(int decimalPoints) {
+            this.powerOfTen = Math.pow(10, decimalPoints);
+        }
+
+        @Override
+        public Object format(Object value) {
+            double doubleValue = value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(value.toString());
+            return Math.round(doubleValue * powerOfTen) / powerOfTen;
+        }
+    }
+
+    private static class NumberFormatter implements CompiledFormatter {
+        // DecimalFormat is not thread-safe, so each thread formats with its own copy of the compiled pattern
+        private final ThreadLocal<DecimalFormat> decimalFormat;
+
+        NumberFormatter(String format) {
+            DecimalFormat compiledFormat = new DecimalFormat(format);
+            this.decimalFormat = ThreadLocal.withInitial(() -> (DecimalFormat) compiledFormat.clone());
+        }
+
+        @Override
+        public Object format(Object value) {
+            DecimalFormat df = decimalFormat.get();
+            if (value instanceof Number) {
+                Number number = (Number) value;
+                if (isIntegral(number)) {
+                    return df.format(number.longValue());
+                }
+                if (number instanceof BigDecimal || number instanceof BigInteger) {
+                    return df.format(number);
+                }
+                return df.format(number.doubleValue());
+            }
+            return df.format(new BigDecimal(value.toString()));
+        }
     }
 
 
@@ -4,6 +4,7 @@ package io.github.nikanique.springrestframework.web.controllers;
 import io.github.nikanique.springrestframework.exceptions.UnauthorizedException;
 import io.github.nikanique.springrestframework.orm.SearchCriteria;
 import io.github.nikanique.springrestframework.serializer.Serializer;
+import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.Getter;
@@ -17,9 +18,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.method.HandlerMethod;
 
 import java.lang.reflect.ParameterizedType;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 /**
  * This is abstract controller. It is a base controller for all generic controllers.
@@ -81,6 +80,33 @@ public abstract class BaseGenericController<Model, ID, ModelRepository extends J
         return searchCriteria;
     }
 
+    /**
+     * Narrows the serializer config to the fields requested by the "fields" and "exclude" query parameters.
+     * Both parameters take comma-separated field names; nested fields are addressed with "__" (e.g. course__title).
+     *
+     * @param request          The request
+     * @param serializerConfig The serializer config of the endpoint
+     * @return The serializer config of the requested fields
+     */
+    protected SerializerConfig selectFields(HttpServletRequest request, SerializerConfig serializerConfig) {
+        Set<String> fields = parseFieldNames(request.getParameter("fields"));
+        Set<String> exclude = parseFieldNames(request.getParameter("exclude"));
+        return serializerConfig.select(fields, exclude);
+    }
+
+    private static Set<String> parseFieldNames(String parameterValue) {
+        if (parameterValue == null || parameterValue.isBlank()) {
+            return Collections.emptySet();
+        }
+        Set<String> fieldNames = new HashSet<>();
+        for (String fieldName : parameterValue.split(",")) {
+            if (!fieldName.isBlank()) {
+                fieldNames.add(fieldName.trim());
+            }
+        }
+        return fieldNames;
+    }
+
     @Autowired
     public void setSerializer(Serializer serializer) {
         this.serializer = serializer;
@@ -0,0 +1,67 @@
+package io.github.nikanique.springrestframework.web.controllers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import io.github.nikanique.springrestframework.exceptions.BaseException;
+import io.github.nikanique.springrestframework.serializer.Serializer;
+import io.github.nikanique.springrestframework.web.responses.BulkItemError;
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.io.IOException;
+
+/**
+ * This interface provides methods for reading the body of bulk requests, a JSON array of items.
+ */
+public interface BulkRequestProvider extends RequestBodyProvider {
+
+    /**
+     * @return The maximum number of items accepted by the bulk endpoints
+     */
+    int getMaxBulkSize();
+
+    default int configMaxBulkSize() {
+        return 10000;
+    }
+
+    /**
+     * @return The number of entities written and flushed at a time by the bulk endpoints
+     */
+    int getBulkBatchSize();
+
+    default int configBulkBatchSize() {
+        return 50;
+    }
+
+    /**
+     * Parses the request body of a bulk request and checks that it is an array of at most the maximum bulk size.
+     *
+     * @param request    The request
+     * @param serializer The serializer parsing the body
+     * @return The parsed array
+     */
+    default JsonNode getBulkRequestBody(HttpServletRequest request, Serializer serializer) throws IOException {
+        JsonNode requestBody = this.getRequestBodyTree(request, serializer);
+        if (!requestBody.isArray()) {
+            throw new BadRequestException("Request body must be a JSON array.");
+        }
+        if (requestBody.size() > getMaxBulkSize()) {
+            throw new BadRequestException("A bulk request can contain at most " + getMaxBulkSize() + " items.");
+        }
+        return requestBody;
+    }
+
+    /**
+     * Converts the exception raised while reading an item of a bulk request to the error of that item.
+     */
+    default BulkItemError toBulkItemError(int index, Exception exception) {
+        if (exception instanceof BaseException baseException) {
+            return new BulkItemError(index, baseException.getMessage(), baseException.getErrors());
+        }
+        if (exception instanceof JsonProcessingException jsonProcessingException) {
+            return new BulkItemError(index, jsonProcessingException.getOriginalMessage(), null);
+        }
+        Throwable cause = exception.getCause() == null ? exception : exception.getCause();
+        return new BulkItemError(index, cause.getMessage(), null);
+    }
+}
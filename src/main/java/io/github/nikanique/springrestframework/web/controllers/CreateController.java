@@ -1,12 +1,17 @@
 package io.github.nikanique.springrestframework.web.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.common.EndpointType;
 import io.github.nikanique.springrestframework.orm.EntityBuilder;
+import io.github.nikanique.springrestframework.orm.ReferencedEntityCache;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.swagger.SwaggerSchemaGenerator;
+import io.github.nikanique.springrestframework.web.responses.BulkItemError;
+import io.github.nikanique.springrestframework.web.responses.BulkResponse;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
@@ -15,13 +20,16 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * This interface provides methods for creating entities.
  *
  * @param <Model> The model
  * @param <ID>    Type of model's primary key (id)
  */
-public interface CreateController<Model, ID> extends RequestBodyProvider {
+public interface CreateController<Model, ID> extends BulkRequestProvider {
     SerializerConfig getCreateResponseSerializerConfig();
 
     Class<?> getCreateRequestBodyDTO();
@@ -37,8 +45,50 @@ public interface CreateController<Model, ID> extends RequestBodyProvider {
     }
 
 
+    /**
+     * Creates all items of a JSON array in a single transaction. Each item goes through the same deserialization,
+     * validation and entity building as a single create. If any item is invalid, nothing is created and the errors
+     * of all invalid items are returned, identified by their index in the array.
+     */
+    default ResponseEntity<BulkResponse<ObjectNode>> bulkCreate(BaseGenericController controller, HttpServletRequest request) throws Throwable {
+        JsonNode requestBody = this.getBulkRequestBody(request, controller.getSerializer());
+
+        List<Object> dtos = new ArrayList<>(requestBody.size());
+        List<BulkItemError> errors = new ArrayList<>();
+        for (int index = 0; index < requestBody.size(); index++) {
+            try {
+                dtos.add(controller.getSerializer().deserialize(requestBody.get(index), getCreateRequestBodyDTO(), true));
+            } catch (Exception e) {
+                errors.add(toBulkItemError(index, e));
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BulkResponse<>("No items were created.", errors));
+        }
+
+        List<Model> entities = new ArrayList<>(dtos.size());
+        try (ReferencedEntityCache ignored = ReferencedEntityCache.open()) {
+            // Load the referenced models of all items with one query per model
+            this.getEntityHelper().prefetchReferences(this.getCreateRequestBodyDTO(), dtos);
+            for (int index = 0; index < dtos.size(); index++) {
+                try {
+                    entities.add(this.getEntityHelper().fromDto(dtos.get(index), this.getCreateRequestBodyDTO()));
+                } catch (Exception e) {
+                    errors.add(toBulkItemError(index, e));
+                }
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BulkResponse<>("No items were created.", errors));
+        }
+
+        List<ObjectNode> createdEntities = getCommandService().createAll(entities, getBulkBatchSize(),
+                entity -> controller.getSerializer().serialize(entity, getCreateResponseSerializerConfig()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(new BulkResponse<>(createdEntities, "OK"));
+    }
+
     default ResponseEntity<ObjectNode> create(BaseGenericController controller, HttpServletRequest request) throws Throwable {
-        String requestBody = this.getRequestBody(request);
+        JsonNode requestBody = this.getRequestBodyTree(request, controller.getSerializer());
         Object dto = controller.getSerializer().deserialize(requestBody, getCreateRequestBodyDTO(), true);
         return performCreate(controller, dto);
     }
@@ -51,14 +101,25 @@ public interface CreateController<Model, ID> extends RequestBodyProvider {
         );
     }
 
+    default void generateBulkCreateSchema(Operation operation, Class<?> createRequestBodyDTO, Class<?> createResponseDTO) {
+        Schema<?> requestBodySchema = new ArraySchema().items(SwaggerSchemaGenerator.generateSchema(createRequestBodyDTO, EndpointType.WRITE));
+        Content content = new Content().addMediaType("application/json", new MediaType().schema(requestBodySchema));
+        operation.requestBody(new io.swagger.v3.oas.models.parameters.RequestBody().content(content));
+        Schema<?> responseSchema = SwaggerSchemaGenerator.generatePagedResponseSchema(BulkResponse.class, createResponseDTO, EndpointType.READ);
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
+        ApiResponse errorResponse = new ApiResponse().content(new Content().addMediaType("application/json",
+                new MediaType().schema(responseSchema)));
+        operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                .addApiResponse("201", response).addApiResponse("400", errorResponse));
+    }
+
     default void generateCreateSchema(Operation operation, Class<?> createRequestBodyDTO, Class<?> createResponseDTO) {
         Schema<?> requestBodySchema = SwaggerSchemaGenerator.generateSchema(createRequestBodyDTO, EndpointType.WRITE);
         Content content = new Content().addMediaType("application/json", new MediaType().schema(requestBodySchema));
         operation.requestBody(new io.swagger.v3.oas.models.parameters.RequestBody().content(content));
         // Generate Response schema
         Schema<?> responseSchema = SwaggerSchemaGenerator.generateSchema(createResponseDTO, EndpointType.READ);
-        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
-                new MediaType().schema(responseSchema)));
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
         operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
                 .addApiResponse("201", response));
     }
@@ -1,10 +1,18 @@
 package io.github.nikanique.springrestframework.web.controllers;
 
+import io.github.nikanique.springrestframework.common.EndpointType;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
 import io.github.nikanique.springrestframework.filter.Filter;
+import io.github.nikanique.springrestframework.filter.FilterSet;
 import io.github.nikanique.springrestframework.orm.SearchCriteria;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.services.QueryService;
+import io.github.nikanique.springrestframework.swagger.SwaggerSchemaGenerator;
+import io.github.nikanique.springrestframework.web.responses.CountResponse;
+import io.github.nikanique.springrestframework.web.responses.ErrorResponse;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.Content;
+import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +20,7 @@ import org.springframework.http.ResponseEntity;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * This interface provides methods for deleting entities.
@@ -26,6 +35,8 @@ public interface DeleteController<Model, ID> {
 
     Filter getLookupFilter();
 
+    FilterSet getFilterSet();
+
     default ResponseEntity<Void> deleteObject(BaseGenericController controller, Object lookupValue, HttpServletRequest request) {
         List<SearchCriteria> searchCriteriaList = SearchCriteria.fromValue(lookupValue, this.getLookupFilter());
         searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
@@ -45,6 +56,36 @@ public interface DeleteController<Model, ID> {
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Deletes all records matching the filters of the request with a single DELETE statement, without loading them.
+     * At least one filter of the filter set must be present, so that a request without filters cannot delete
+     * every record.
+     */
+    default ResponseEntity<CountResponse> deleteByFilter(BaseGenericController controller, HttpServletRequest request) {
+        List<SearchCriteria> searchCriteriaList = SearchCriteria.fromUrlQuery(request, getFilterSet());
+        if (searchCriteriaList.isEmpty()) {
+            throw new BadRequestException("At least one filter is required to delete by filter.");
+        }
+        searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
+
+        int deletedCount = this.getCommandService().deleteAll(searchCriteriaList);
+        return ResponseEntity.ok(new CountResponse(deletedCount, "OK"));
+    }
+
+    default void generateDeleteByFilterSchema(Operation operation, Set<Filter> filterList) {
+        operation.setRequestBody(null);
+        SwaggerSchemaGenerator.addFilterParameters(operation, filterList);
+
+        Schema<?> responseSchema = SwaggerSchemaGenerator.generateSchema(CountResponse.class, EndpointType.READ);
+        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
+                new MediaType().schema(responseSchema)));
+        Schema<?> errorResponseSchema = SwaggerSchemaGenerator.generateSchema(ErrorResponse.class, EndpointType.READ);
+        ApiResponse errorResponse = new ApiResponse().content(new Content().addMediaType("application/json",
+                new MediaType().schema(errorResponseSchema)));
+        operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                .addApiResponse("200", response).addApiResponse("400", errorResponse));
+    }
+
     default void generateDeleteSchema(Operation operation, Filter lookupValueFilter) {
         operation.setRequestBody(null);
 
@@ -4,10 +4,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.common.FieldType;
 import io.github.nikanique.springrestframework.filter.Filter;
 import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.filter.FilterSet;
 import io.github.nikanique.springrestframework.orm.EntityBuilder;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.services.QueryService;
+import io.github.nikanique.springrestframework.web.responses.BulkResponse;
+import io.github.nikanique.springrestframework.web.responses.CountResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -19,6 +22,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.method.HandlerMethod;
 
+import java.util.TreeSet;
+
 @Getter
 public abstract class GenericCommandController<Model, ID, ModelRepository extends JpaRepository<Model, ID> & JpaSpecificationExecutor<Model>>
         extends BaseGenericController<Model, ID, ModelRepository>
@@ -26,8 +31,12 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
 
 
     final private Filter lookupFilter;
+    final private FilterSet filterSet;
     final private SerializerConfig updateResponseSerializerConfig;
     final private SerializerConfig createResponseSerializerConfig;
+    final private long maxRequestBodySize;
+    final private int maxBulkSize;
+    final private int bulkBatchSize;
     private EntityBuilder<Model> entityHelper;
     private CommandService<Model, ID> commandService;
     private QueryService<Model> queryService;
@@ -39,7 +48,11 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
 
         this.updateResponseSerializerConfig = configUpdateResponseSerializerFields();
         this.createResponseSerializerConfig = configCreateSerializerFields();
+        this.maxRequestBodySize = configMaxRequestBodySize();
+        this.maxBulkSize = configMaxBulkSize();
+        this.bulkBatchSize = configBulkBatchSize();
         this.lookupFilter = configLookupFilter();
+        this.filterSet = configFilterSet();
     }
 
 
@@ -78,12 +91,25 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
         return new Filter("id", FilterOperation.EQUAL, FieldType.INTEGER);
     }
 
+    /**
+     * The filters accepted by the update and delete by filter endpoints, none by default.
+     */
+    protected FilterSet configFilterSet() {
+        return new FilterSet(new TreeSet<>());
+    }
+
     @PostMapping("/")
     public ResponseEntity<ObjectNode> post(HttpServletRequest request) throws Throwable {
         this.authorizeRequest(request);
         return this.create(this, request);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse<ObjectNode>> postBulk(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.bulkCreate(this, request);
+    }
+
     @PutMapping("/{lookup}")
     public ResponseEntity<ObjectNode> put(@PathVariable(name = "lookup") Object lookupValue, HttpServletRequest request) throws Throwable {
         this.authorizeRequest(request);
@@ -91,6 +117,18 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
     }
 
 
+    @PatchMapping("/")
+    public ResponseEntity<CountResponse> patchByFilter(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.updateByFilter(this, request);
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResponse<ObjectNode>> patchBulk(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.bulkPartialUpdate(this, request);
+    }
+
     @PatchMapping("/{lookup}")
     public ResponseEntity<ObjectNode> patch(@PathVariable(name = "lookup") Object lookupValue, HttpServletRequest request) throws Throwable {
         this.authorizeRequest(request);
@@ -98,6 +136,12 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
     }
 
 
+    @DeleteMapping("/")
+    public ResponseEntity<CountResponse> deleteByFilter(HttpServletRequest request) {
+        this.authorizeRequest(request);
+        return deleteByFilter(this, request);
+    }
+
     @DeleteMapping("/{lookup}")
     public ResponseEntity<Void> delete(HttpServletRequest request, @PathVariable(name = "lookup") Object lookupValue) {
         this.authorizeRequest(request);
@@ -108,10 +152,18 @@ public abstract class GenericCommandController<Model, ID, ModelRepository extend
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("post")) {
             generateCreateSchema(operation, getCreateRequestBodyDTO(), getCreateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("postBulk")) {
+            generateBulkCreateSchema(operation, getCreateRequestBodyDTO(), getCreateResponseBodyDTO());
         } else if (handlerMethod.getMethod().getName().equals("put") || handlerMethod.getMethod().getName().equals("patch")) {
             generateUpdateSchema(operation, getLookupFilter(), getUpdateRequestBodyDTO(), getUpdateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("patchBulk")) {
+            generateBulkUpdateSchema(operation, getUpdateRequestBodyDTO(), getUpdateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("patchByFilter")) {
+            generateUpdateByFilterSchema(operation, getFilterSet().getFilters(), getUpdateRequestBodyDTO());
         } else if (handlerMethod.getMethod().getName().equals("delete")) {
             generateDeleteSchema(operation, getLookupFilter());
+        } else if (handlerMethod.getMethod().getName().equals("deleteByFilter")) {
+            generateDeleteByFilterSchema(operation, getFilterSet().getFilters());
         }
     }
 
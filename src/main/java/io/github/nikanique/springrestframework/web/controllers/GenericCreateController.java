@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.orm.EntityBuilder;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.CommandService;
+import io.github.nikanique.springrestframework.web.responses.BulkResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -47,6 +48,9 @@ public abstract class GenericCreateController<Model, ID, ModelRepository extends
         implements CreateController<Model, ID> {
 
     final private SerializerConfig createResponseSerializerConfig;
+    final private long maxRequestBodySize;
+    final private int maxBulkSize;
+    final private int bulkBatchSize;
     private EntityBuilder<Model> entityHelper;
     private CommandService<Model, ID> commandService;
 
@@ -54,6 +58,9 @@ public abstract class GenericCreateController<Model, ID, ModelRepository extends
     public GenericCreateController(@SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection") ModelRepository repository) {
         super(repository);
         this.createResponseSerializerConfig = configCreateSerializerFields();
+        this.maxRequestBodySize = configMaxRequestBodySize();
+        this.maxBulkSize = configMaxBulkSize();
+        this.bulkBatchSize = configBulkBatchSize();
     }
 
     @PostConstruct
@@ -76,9 +83,17 @@ public abstract class GenericCreateController<Model, ID, ModelRepository extends
         return this.create(this, request);
     }
 
+    @PostMapping("/bulk")
+    public ResponseEntity<BulkResponse<ObjectNode>> postBulk(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.bulkCreate(this, request);
+    }
+
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("post")) {
             this.generateCreateSchema(operation, getCreateRequestBodyDTO(), getCreateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("postBulk")) {
+            this.generateBulkCreateSchema(operation, getCreateRequestBodyDTO(), getCreateResponseBodyDTO());
         }
     }
 
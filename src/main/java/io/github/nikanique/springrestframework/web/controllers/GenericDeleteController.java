@@ -3,8 +3,10 @@ package io.github.nikanique.springrestframework.web.controllers;
 import io.github.nikanique.springrestframework.common.FieldType;
 import io.github.nikanique.springrestframework.filter.Filter;
 import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.filter.FilterSet;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.services.QueryService;
+import io.github.nikanique.springrestframework.web.responses.CountResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,6 +18,8 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.method.HandlerMethod;
 
+import java.util.TreeSet;
+
 /**
  * The GenericDeleteController class is a generic controller designed for use in Spring Boot applications for deleting model's records.
  * It provides a common implementation for deleting records. It exposes endpoint with DELETE method.
@@ -48,6 +52,7 @@ public abstract class GenericDeleteController<Model, ID, ModelRepository extends
         extends BaseGenericController<Model, ID, ModelRepository> implements DeleteController<Model, ID> {
 
     final private Filter lookupFilter;
+    final private FilterSet filterSet;
     private CommandService<Model, ID> commandService;
     private QueryService<Model> queryService;
 
@@ -55,6 +60,7 @@ public abstract class GenericDeleteController<Model, ID, ModelRepository extends
         super(repository);
 
         this.lookupFilter = configLookupFilter();
+        this.filterSet = configFilterSet();
     }
 
 
@@ -68,6 +74,19 @@ public abstract class GenericDeleteController<Model, ID, ModelRepository extends
         return new Filter("id", FilterOperation.EQUAL, FieldType.INTEGER);
     }
 
+    /**
+     * The filters accepted by the delete by filter endpoint, none by default.
+     */
+    protected FilterSet configFilterSet() {
+        return new FilterSet(new TreeSet<>());
+    }
+
+    @DeleteMapping("/")
+    public ResponseEntity<CountResponse> deleteByFilter(HttpServletRequest request) {
+        this.authorizeRequest(request);
+        return deleteByFilter(this, request);
+    }
+
     @DeleteMapping("/{lookup}")
     public ResponseEntity<Void> delete(HttpServletRequest request, @PathVariable(name = "lookup") Object lookupValue) {
         this.authorizeRequest(request);
@@ -77,6 +96,8 @@ public abstract class GenericDeleteController<Model, ID, ModelRepository extends
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("delete")) {
             generateDeleteSchema(operation, getLookupFilter());
+        } else if (handlerMethod.getMethod().getName().equals("deleteByFilter")) {
+            generateDeleteByFilterSchema(operation, getFilterSet().getFilters());
         }
     }
 
@@ -9,6 +9,7 @@ import io.github.nikanique.springrestframework.web.responses.PagedResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -59,6 +60,10 @@ public abstract class GenericListController<Model, ID, ModelRepository extends J
     final private SerializerConfig listSerializerConfig;
     final private FilterSet filterSet;
     final private Method queryMethod;
+    final private boolean streamingList;
+    final private int parallelSerializationThreshold;
+    final private boolean exportEnabled;
+    final private int exportFetchSize;
     private final Set<String> allowedOrderByFields;
     private QueryService<Model> queryService;
 
@@ -68,6 +73,10 @@ public abstract class GenericListController<Model, ID, ModelRepository extends J
         this.listSerializerConfig = configListSerializer();
         this.queryMethod = MethodReflectionHelper.findRepositoryMethod(getQueryMethodName(), repository);
         this.allowedOrderByFields = configAllowedOrderByFields();
+        this.streamingList = configStreamingList();
+        this.parallelSerializationThreshold = configParallelSerializationThreshold();
+        this.exportEnabled = configExportEnabled();
+        this.exportFetchSize = configExportFetchSize();
 
     }
 
@@ -96,18 +105,32 @@ public abstract class GenericListController<Model, ID, ModelRepository extends J
     @GetMapping("/")
     public ResponseEntity<PagedResponse<ObjectNode>> get(
             HttpServletRequest request,
+            HttpServletResponse response,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String sortBy,
             @RequestParam(defaultValue = "ASC") Sort.Direction direction) throws Throwable {
         this.authorizeRequest(request);
-        return this.list(this, request, page, size, sortBy, direction);
+        return this.list(this, request, response, page, size, sortBy, direction);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<?> export(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) throws Throwable {
+        this.authorizeRequest(request);
+        return this.export(this, request, response, format, sortBy, direction);
     }
 
 
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("get")) {
             this.generateListSchema(operation, this.getFilterSet().getFilters(), this.getListResponseDTO());
+        } else if (handlerMethod.getMethod().getName().equals("export")) {
+            this.generateExportSchema(operation, this.getFilterSet().getFilters(), this.getListResponseDTO());
         }
     }
 
@@ -12,6 +12,7 @@ import io.github.nikanique.springrestframework.web.responses.PagedResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.Getter;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -66,6 +67,10 @@ public abstract class GenericQueryController<Model, ID, ModelRepository extends
     final private Filter lookupFilter;
     final private FilterSet filterSet;
     final private Method queryMethod;
+    final private boolean streamingList;
+    final private int parallelSerializationThreshold;
+    final private boolean exportEnabled;
+    final private int exportFetchSize;
     private QueryService<Model> queryService;
 
     public GenericQueryController(ModelRepository repository) throws NoSuchMethodException {
@@ -76,6 +81,10 @@ public abstract class GenericQueryController<Model, ID, ModelRepository extends
         this.lookupFilter = configLookupFilter();
         this.queryMethod = MethodReflectionHelper.findRepositoryMethod(getQueryMethodName(), repository);
         this.allowedOrderByFields = configAllowedOrderByFields();
+        this.streamingList = configStreamingList();
+        this.parallelSerializationThreshold = configParallelSerializationThreshold();
+        this.exportEnabled = configExportEnabled();
+        this.exportFetchSize = configExportFetchSize();
 
     }
 
@@ -116,12 +125,28 @@ public abstract class GenericQueryController<Model, ID, ModelRepository extends
     @GetMapping("/")
     public ResponseEntity<PagedResponse<ObjectNode>> get(
             HttpServletRequest request,
+            HttpServletResponse response,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "") String sortBy,
             @RequestParam(defaultValue = "ASC") Sort.Direction direction) throws Throwable {
         this.authorizeRequest(request);
-        return this.list(this, request, page, size, sortBy, direction);
+        return this.list(this, request, response, page, size, sortBy, direction);
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<?> export(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestParam(defaultValue = "") String sortBy,
+            @RequestParam(defaultValue = "ASC") Sort.Direction direction) throws Throwable {
+        this.authorizeRequest(request);
+        if (!this.isExportEnabled()) {
+            // Without export, "export" is a lookup value like any other
+            return this.retrieve(this, request, "export");
+        }
+        return this.export(this, request, response, format, sortBy, direction);
     }
 
     @GetMapping("/{lookup}")
@@ -136,6 +161,8 @@ public abstract class GenericQueryController<Model, ID, ModelRepository extends
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("get")) {
             this.generateListSchema(operation, this.getFilterSet().getFilters(), this.getListResponseDTO());
+        } else if (handlerMethod.getMethod().getName().equals("export")) {
+            this.generateExportSchema(operation, this.getFilterSet().getFilters(), this.getListResponseDTO());
         } else if (handlerMethod.getMethod().getName().equals("getByLookupValue")) {
             this.generateRetrieveSchema(operation, this.getLookupFilter(), this.getRetrieveResponseDTO());
         }
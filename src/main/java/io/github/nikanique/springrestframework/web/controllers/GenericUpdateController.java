@@ -4,10 +4,13 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.common.FieldType;
 import io.github.nikanique.springrestframework.filter.Filter;
 import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.filter.FilterSet;
 import io.github.nikanique.springrestframework.orm.EntityBuilder;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.services.QueryService;
+import io.github.nikanique.springrestframework.web.responses.BulkResponse;
+import io.github.nikanique.springrestframework.web.responses.CountResponse;
 import io.swagger.v3.oas.models.Operation;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,6 +24,8 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.method.HandlerMethod;
 
+import java.util.TreeSet;
+
 /**
  * The GenericUpdateController class is a generic controller designed for use in Spring Boot applications for updating model's records.
  * It provides a common implementation for updating records. It exposes endpoint with PUT and PATCH methods.
@@ -57,7 +62,11 @@ public abstract class GenericUpdateController<Model, ID, ModelRepository extends
 
 
     final private Filter lookupFilter;
+    final private FilterSet filterSet;
     final private SerializerConfig updateResponseSerializerConfig;
+    final private long maxRequestBodySize;
+    final private int maxBulkSize;
+    final private int bulkBatchSize;
     private EntityBuilder<Model> entityHelper;
     private CommandService<Model, ID> commandService;
     private QueryService<Model> queryService;
@@ -67,7 +76,11 @@ public abstract class GenericUpdateController<Model, ID, ModelRepository extends
     public GenericUpdateController(@SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection") ModelRepository repository) throws NoSuchMethodException {
         super(repository);
         this.updateResponseSerializerConfig = configUpdateResponseSerializerFields();
+        this.maxRequestBodySize = configMaxRequestBodySize();
+        this.maxBulkSize = configMaxBulkSize();
+        this.bulkBatchSize = configBulkBatchSize();
         this.lookupFilter = configLookupFilter();
+        this.filterSet = configFilterSet();
 
     }
 
@@ -96,6 +109,13 @@ public abstract class GenericUpdateController<Model, ID, ModelRepository extends
         return new Filter("id", FilterOperation.EQUAL, FieldType.INTEGER);
     }
 
+    /**
+     * The filters accepted by the update by filter endpoint, none by default.
+     */
+    protected FilterSet configFilterSet() {
+        return new FilterSet(new TreeSet<>());
+    }
+
 
     @PutMapping("/{lookup}")
     public ResponseEntity<ObjectNode> update(@PathVariable(name = "lookup") Object lookupValue, HttpServletRequest request) throws Throwable {
@@ -103,6 +123,18 @@ public abstract class GenericUpdateController<Model, ID, ModelRepository extends
         return this.update(this, lookupValue, request);
     }
 
+    @PatchMapping("/")
+    public ResponseEntity<CountResponse> patchByFilter(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.updateByFilter(this, request);
+    }
+
+    @PatchMapping("/bulk")
+    public ResponseEntity<BulkResponse<ObjectNode>> patchBulk(HttpServletRequest request) throws Throwable {
+        this.authorizeRequest(request);
+        return this.bulkPartialUpdate(this, request);
+    }
+
     @PatchMapping("/{lookup}")
     public ResponseEntity<ObjectNode> patch(@PathVariable(name = "lookup") Object lookupValue, HttpServletRequest request) throws Throwable {
         this.authorizeRequest(request);
@@ -113,6 +145,10 @@ public abstract class GenericUpdateController<Model, ID, ModelRepository extends
     public void customizeOperationForController(Operation operation, HandlerMethod handlerMethod) {
         if (handlerMethod.getMethod().getName().equals("put") || handlerMethod.getMethod().getName().equals("patch")) {
             generateUpdateSchema(operation, getLookupFilter(), getUpdateRequestBodyDTO(), getUpdateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("patchBulk")) {
+            generateBulkUpdateSchema(operation, getUpdateRequestBodyDTO(), getUpdateResponseBodyDTO());
+        } else if (handlerMethod.getMethod().getName().equals("patchByFilter")) {
+            generateUpdateByFilterSchema(operation, getFilterSet().getFilters(), getUpdateRequestBodyDTO());
         }
     }
 
@@ -1,12 +1,14 @@
 package io.github.nikanique.springrestframework.web.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.common.EndpointType;
 import io.github.nikanique.springrestframework.dto.DtoManager;
 import io.github.nikanique.springrestframework.filter.Filter;
-import io.github.nikanique.springrestframework.filter.FilterOperation;
 import io.github.nikanique.springrestframework.filter.FilterSet;
 import io.github.nikanique.springrestframework.orm.SearchCriteria;
+import io.github.nikanique.springrestframework.serializer.CsvWriter;
+import io.github.nikanique.springrestframework.serializer.Serializer;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.QueryService;
 import io.github.nikanique.springrestframework.swagger.SwaggerSchemaGenerator;
@@ -19,10 +21,14 @@ import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.parameters.Parameter;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.lang.reflect.Method;
 import java.util.Collections;
 import java.util.List;
@@ -50,50 +56,193 @@ public interface ListController<Model> {
         return Collections.emptySet();
     }
 
-    default ResponseEntity list(BaseGenericController controller, HttpServletRequest request, int page, int size, String sortBy, Sort.Direction direction) throws Throwable {
-        if (!getAllowedOrderByFields().isEmpty() && !sortBy.isEmpty() && !getAllowedOrderByFields().contains(sortBy)) {
+    /**
+     * When enabled, the list endpoint writes each serialized record directly to the response output stream
+     * instead of building a PagedResponse of ObjectNodes first.
+     *
+     * @return true if the list response should be streamed
+     */
+    boolean isStreamingList();
+
+    default boolean configStreamingList() {
+        return false;
+    }
+
+    /**
+     * Pages with at least this many records are serialized in parallel. Values of zero or less
+     * disable parallel serialization.
+     *
+     * @return The minimum number of records of a page to serialize in parallel
+     */
+    int getParallelSerializationThreshold();
+
+    default int configParallelSerializationThreshold() {
+        return 0;
+    }
+
+    /**
+     * When enabled, the controller exposes a GET /export endpoint streaming all filtered records as NDJSON or CSV.
+     * Export requires the default findAll query method or an {@link io.github.nikanique.springrestframework.annotation.SrfQuery};
+     * other custom query methods cannot be streamed. When disabled, the endpoint responds with 404.
+     *
+     * @return true if the export endpoint is enabled
+     */
+    boolean isExportEnabled();
+
+    default boolean configExportEnabled() {
+        return false;
+    }
+
+    /**
+     * @return The number of rows the export endpoint fetches from the database at a time
+     */
+    int getExportFetchSize();
+
+    default int configExportFetchSize() {
+        return 500;
+    }
+
+    /**
+     * Streams all records matching the filters to the response, one row at a time, without counting or paging.
+     * The format is either "ndjson" (one JSON object per line) or "csv" (one column per "__"-separated field path).
+     */
+    default ResponseEntity export(BaseGenericController controller, HttpServletRequest request, HttpServletResponse response, String format, String sortBy, Sort.Direction direction) throws Throwable {
+        if (!isExportEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        if (!format.equals("ndjson") && !format.equals("csv")) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Export format " + format + " is not supported"));
+        }
+        if (!isSortAllowed(sortBy)) {
             return ResponseEntity.badRequest().body(new ErrorResponse("Sorting by " + sortBy + " is not allowed"));
         }
+        if (!getQueryService().canStreamList(getQueryMethod())) {
+            return ResponseEntity.status(HttpStatus.NOT_IMPLEMENTED)
+                    .body(new ErrorResponse("Export is not supported by the query method " + getQueryMethod().getName()));
+        }
 
+        SerializerConfig serializerConfig = controller.selectFields(request, getListSerializerConfig());
         List<SearchCriteria> searchCriteriaList = SearchCriteria.fromUrlQuery(request, getFilterSet());
         searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
         String sortColumn = DtoManager.mapFieldToDBColumn(sortBy, controller.getDTO());
+        List<String> fetchPaths = serializerConfig.getPlan().getSourcePaths();
+        Serializer serializer = controller.getSerializer();
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setCharacterEncoding("UTF-8");
+        if (format.equals("csv")) {
+            response.setContentType("text/csv");
+            Writer writer = response.getWriter();
+            CsvWriter csvWriter = new CsvWriter(writer, serializerConfig.getPlan());
+            csvWriter.writeHeader();
+            getQueryService().streamList(searchCriteriaList, direction, sortColumn, getQueryMethod(), getExportFetchSize(), fetchPaths,
+                    entity -> csvWriter.writeRow(serializer.serialize(entity, serializerConfig)));
+            writer.flush();
+        } else {
+            response.setContentType("application/x-ndjson");
+            try (JsonGenerator generator = serializer.createGenerator(response.getOutputStream())) {
+                generator.setRootValueSeparator(null);
+                getQueryService().streamList(searchCriteriaList, direction, sortColumn, getQueryMethod(), getExportFetchSize(), fetchPaths, entity -> {
+                    serializer.serialize(entity, serializerConfig, generator);
+                    generator.writeRaw('\n');
+                });
+            }
+        }
+        // The response has been written, no body is returned to Spring MVC
+        return null;
+    }
+
+    default ResponseEntity list(BaseGenericController controller, HttpServletRequest request, int page, int size, String sortBy, Sort.Direction direction) throws Throwable {
+        if (!isSortAllowed(sortBy)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Sorting by " + sortBy + " is not allowed"));
+        }
 
-        Page<Object> entityPage = getQueryService().getPagedlist(searchCriteriaList, page, size, direction, sortColumn, getQueryMethod());
-        List<ObjectNode> dtoList = entityPage.map(entity -> controller.getSerializer().serialize(entity, getListSerializerConfig())).getContent();
+        SerializerConfig serializerConfig = controller.selectFields(request, getListSerializerConfig());
+        Page<Object> entityPage = getEntityPage(controller, request, page, size, sortBy, direction, serializerConfig);
+        List<ObjectNode> dtoList = controller.getSerializer().serialize(entityPage.getContent(), serializerConfig, getParallelSerializationThreshold());
         PagedResponse<ObjectNode> response = new PagedResponse<>(dtoList, entityPage.getTotalElements(), "OK");
         return ResponseEntity.ok(response);
     }
 
-    default void generateListSchema(Operation operation, Set<Filter> filterList, Class<?> listResponseDTO) {
-        for (Filter filter : filterList) {
-            if (filter.getOperation().equals(FilterOperation.BETWEEN)) {
-                String fromParameterName = filter.getName() + "From";
-                String toParameterName = filter.getName() + "To";
-                operation.addParametersItem(new Parameter().name(fromParameterName).in("query")
-                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
-                        .required(filter.isRequired())
-                        .description(filter.getHelpText() == null ? "Filter operator :" + FilterOperation.GREATER_OR_EQUAL.name() : filter.getHelpText()));
-                operation.addParametersItem(new Parameter().name(toParameterName).in("query")
-                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
-                        .required(filter.isRequired())
-                        .description(filter.getHelpText() == null ? "Filter operator :" + FilterOperation.LESS_OR_EQUAL.name() : filter.getHelpText()));
-            } else if (filter.getOperation().equals(FilterOperation.IN)) {
-                operation.addParametersItem(new Parameter().name(filter.getName()).in("query")
-                        .schema(new Schema().type("string"))
-                        .required(filter.isRequired())
-                        .description(filter.getHelpText() == null ? "Filter operator :" + filter.getOperation().name() : filter.getHelpText()));
+    default ResponseEntity list(BaseGenericController controller, HttpServletRequest request, HttpServletResponse response, int page, int size, String sortBy, Sort.Direction direction) throws Throwable {
+        if (!isStreamingList()) {
+            return list(controller, request, page, size, sortBy, direction);
+        }
+        if (!isSortAllowed(sortBy)) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("Sorting by " + sortBy + " is not allowed"));
+        }
+
+        SerializerConfig serializerConfig = controller.selectFields(request, getListSerializerConfig());
+        Page<Object> entityPage = getEntityPage(controller, request, page, size, sortBy, direction, serializerConfig);
+        String mediaType = controller.getSerializer().negotiateMediaType(request.getHeader("Accept"));
+        writePagedResponse(controller, response, entityPage, serializerConfig, mediaType);
+        // The response has been written, no body is returned to Spring MVC
+        return null;
+    }
+
+    private boolean isSortAllowed(String sortBy) {
+        return getAllowedOrderByFields().isEmpty() || sortBy.isEmpty() || getAllowedOrderByFields().contains(sortBy);
+    }
+
+    private Page<Object> getEntityPage(BaseGenericController controller, HttpServletRequest request, int page, int size, String sortBy, Sort.Direction direction, SerializerConfig serializerConfig) throws Throwable {
+        List<SearchCriteria> searchCriteriaList = SearchCriteria.fromUrlQuery(request, getFilterSet());
+        searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
+        String sortColumn = DtoManager.mapFieldToDBColumn(sortBy, controller.getDTO());
+
+        return getQueryService().getPagedlist(searchCriteriaList, page, size, direction, sortColumn, getQueryMethod(), serializerConfig.getPlan().getSourcePaths());
+    }
+
+    default void writePagedResponse(BaseGenericController controller, HttpServletResponse response, Page<Object> entityPage, SerializerConfig serializerConfig, String mediaType) throws IOException {
+        Serializer serializer = controller.getSerializer();
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(mediaType);
+        try (JsonGenerator generator = serializer.createGenerator(response.getOutputStream(), mediaType)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("result");
+            int parallelThreshold = getParallelSerializationThreshold();
+            if (parallelThreshold > 0 && entityPage.getNumberOfElements() >= parallelThreshold) {
+                for (ObjectNode serializedEntity : serializer.serialize(entityPage.getContent(), serializerConfig, parallelThreshold)) {
+                    generator.writeTree(serializedEntity);
+                }
             } else {
-                operation.addParametersItem(new Parameter().name(filter.getName()).in("query")
-                        .schema(new Schema().type(filter.getFieldType().toString().toLowerCase()))
-                        .required(filter.isRequired())
-                        .description(filter.getHelpText() == null ? "Filter operator :" + filter.getOperation().name() : filter.getHelpText()));
+                for (Object entity : entityPage) {
+                    serializer.serialize(entity, serializerConfig, generator);
+                }
             }
+            generator.writeEndArray();
+            generator.writeNumberField("totalCount", entityPage.getTotalElements());
+            generator.writeStringField("message", "OK");
+            generator.writeEndObject();
+        }
+    }
+
+    default void generateExportSchema(Operation operation, Set<Filter> filterList, Class<?> listResponseDTO) {
+        if (!isExportEnabled()) {
+            operation.description("Export is not enabled for this endpoint")
+                    .responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                            .addApiResponse("404", new ApiResponse().description("Not Found")));
+            return;
         }
+        generateListSchema(operation, filterList, listResponseDTO);
+        for (Parameter parameter : operation.getParameters()) {
+            if (parameter.getName().equals("format")) {
+                parameter.schema(new Schema().type("string")._enum(List.of("ndjson", "csv")))
+                        .description("The export format, ndjson writes one JSON object per line, csv writes one column per field");
+            }
+        }
+        Schema<?> rowSchema = SwaggerSchemaGenerator.generateSchema(listResponseDTO, EndpointType.READ);
+        ApiResponse response = new ApiResponse().content(new Content()
+                .addMediaType("application/x-ndjson", new MediaType().schema(rowSchema))
+                .addMediaType("text/csv", new MediaType().schema(new Schema().type("string"))));
+        operation.getResponses().addApiResponse("200", response);
+    }
+
+    default void generateListSchema(Operation operation, Set<Filter> filterList, Class<?> listResponseDTO) {
+        SwaggerSchemaGenerator.addFilterParameters(operation, filterList);
+        SwaggerSchemaGenerator.addFieldSelectionParameters(operation);
         // Generate Response schema
         Schema<?> responseSchema = SwaggerSchemaGenerator.generatePagedResponseSchema(PagedResponse.class, listResponseDTO, EndpointType.READ);
-        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
-                new MediaType().schema(responseSchema)));
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
         // Generate error Response schema
         Schema<?> errorResponseSchema = SwaggerSchemaGenerator.generateSchema(ErrorResponse.class, EndpointType.READ);
         ApiResponse errorResponse = new ApiResponse().content(new Content().addMediaType("application/json",
@@ -1,23 +1,60 @@
 package io.github.nikanique.springrestframework.web.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.nikanique.springrestframework.exceptions.PayloadTooLargeException;
+import io.github.nikanique.springrestframework.serializer.Serializer;
+import io.github.nikanique.springrestframework.utilities.SizeLimitedInputStream;
 import jakarta.servlet.http.HttpServletRequest;
 
-import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
 /**
- * This interface provides methods for getting request body as a string.
+ * This interface provides methods for reading the request body.
  */
 public interface RequestBodyProvider {
+    long DEFAULT_MAX_REQUEST_BODY_SIZE = 10 * 1024 * 1024;
+
+    /**
+     * The maximum size of a request body in bytes. Larger bodies are rejected with 413 Payload Too Large
+     * while they are read. Values of zero or less disable the limit.
+     *
+     * @return The maximum size of a request body in bytes
+     */
+    long getMaxRequestBodySize();
+
+    default long configMaxRequestBodySize() {
+        return DEFAULT_MAX_REQUEST_BODY_SIZE;
+    }
+
+    /**
+     * Parses the request body directly from the request's input stream, enforcing the maximum body size.
+     *
+     * @param request    The request
+     * @param serializer The serializer parsing the body
+     * @return The parsed request body
+     */
+    default JsonNode getRequestBodyTree(HttpServletRequest request, Serializer serializer) throws IOException {
+        return serializer.readTree(getRequestBodyStream(request));
+    }
 
     default String getRequestBody(HttpServletRequest request) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        try (BufferedReader reader = request.getReader()) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                sb.append(line);
-            }
+        Charset charset = request.getCharacterEncoding() == null ? StandardCharsets.UTF_8 : Charset.forName(request.getCharacterEncoding());
+        try (InputStream inputStream = getRequestBodyStream(request)) {
+            return new String(inputStream.readAllBytes(), charset);
+        }
+    }
+
+    private InputStream getRequestBodyStream(HttpServletRequest request) throws IOException {
+        long maxSize = getMaxRequestBodySize();
+        if (maxSize <= 0) {
+            return request.getInputStream();
+        }
+        if (request.getContentLengthLong() > maxSize) {
+            throw new PayloadTooLargeException("Request body exceeds the maximum size of " + maxSize + " bytes.");
         }
-        return sb.toString();
+        return new SizeLimitedInputStream(request.getInputStream(), maxSize);
     }
 }
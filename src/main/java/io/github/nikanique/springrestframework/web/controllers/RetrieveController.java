@@ -8,8 +8,6 @@ import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.QueryService;
 import io.github.nikanique.springrestframework.swagger.SwaggerSchemaGenerator;
 import io.swagger.v3.oas.models.Operation;
-import io.swagger.v3.oas.models.media.Content;
-import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
@@ -37,16 +35,17 @@ public interface RetrieveController<Model> {
     default ResponseEntity<ObjectNode> retrieve(BaseGenericController controller, HttpServletRequest request, Object lookupValue) throws Throwable {
         List<SearchCriteria> searchCriteriaList = SearchCriteria.fromValue(lookupValue, getLookupFilter());
         searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
+        SerializerConfig serializerConfig = controller.selectFields(request, getRetrieveSerializerConfig());
 
-        Optional<Object> optionalEntity = getObject(searchCriteriaList);
+        Optional<Object> optionalEntity = getObject(searchCriteriaList, serializerConfig);
         return optionalEntity.map(entity -> ResponseEntity.ok(
-                        controller.getSerializer().serialize(entity, getRetrieveSerializerConfig())
+                        controller.getSerializer().serialize(entity, serializerConfig)
                 ))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
-    private Optional<Object> getObject(List<SearchCriteria> searchCriteriaList) throws Throwable {
-        Optional<Object> optionalEntity = getQueryService().getObject(searchCriteriaList, getQueryMethod());
+    private Optional<Object> getObject(List<SearchCriteria> searchCriteriaList, SerializerConfig serializerConfig) throws Throwable {
+        Optional<Object> optionalEntity = getQueryService().getObject(searchCriteriaList, getQueryMethod(), serializerConfig.getPlan().getSourcePaths());
         return optionalEntity;
     }
 
@@ -57,9 +56,9 @@ public interface RetrieveController<Model> {
                         (lookupValueFilter.getName() == null ? "" :
                                 "Field: " + lookupValueFilter.getName()) + " Filter operator :" + lookupValueFilter.getOperation().name() :
                         lookupValueFilter.getHelpText());
+        SwaggerSchemaGenerator.addFieldSelectionParameters(operation);
         Schema<?> responseSchema = SwaggerSchemaGenerator.generateSchema(retrieveResponseDTO, EndpointType.READ);
-        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
-                new MediaType().schema(responseSchema)));
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
         operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
                 .addApiResponse("200", response));
     }
@@ -1,25 +1,39 @@
 package io.github.nikanique.springrestframework.web.controllers;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.nikanique.springrestframework.common.EndpointType;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import io.github.nikanique.springrestframework.exceptions.ValidationException;
 import io.github.nikanique.springrestframework.filter.Filter;
+import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.filter.FilterSet;
+import io.github.nikanique.springrestframework.orm.ModelSpecification;
+import io.github.nikanique.springrestframework.orm.ReferencedEntityCache;
 import io.github.nikanique.springrestframework.orm.SearchCriteria;
 import io.github.nikanique.springrestframework.serializer.SerializerConfig;
 import io.github.nikanique.springrestframework.services.CommandService;
 import io.github.nikanique.springrestframework.services.QueryService;
+import io.github.nikanique.springrestframework.services.UpdateResult;
 import io.github.nikanique.springrestframework.swagger.SwaggerSchemaGenerator;
+import io.github.nikanique.springrestframework.web.responses.BulkItemError;
+import io.github.nikanique.springrestframework.web.responses.BulkResponse;
+import io.github.nikanique.springrestframework.web.responses.CountResponse;
 import io.swagger.v3.oas.models.Operation;
+import io.swagger.v3.oas.models.media.ArraySchema;
 import io.swagger.v3.oas.models.media.Content;
 import io.swagger.v3.oas.models.media.MediaType;
 import io.swagger.v3.oas.models.media.Schema;
 import io.swagger.v3.oas.models.responses.ApiResponse;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.BeanWrapperImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.beans.PropertyDescriptor;
+import java.time.format.DateTimeParseException;
+import java.util.*;
 
 /**
  * This interface provides methods for updating entities.
@@ -27,7 +41,8 @@ import java.util.Set;
  * @param <Model> The model you want to list the records of (eg. User)
  * @param <ID>    Type of model's primary key (id)
  */
-public interface UpdateController<Model, ID> extends RequestBodyProvider {
+public interface UpdateController<Model, ID> extends BulkRequestProvider {
+    String UNCHANGED_HEADER = "X-Unchanged";
 
     Class<?> getUpdateRequestBodyDTO();
 
@@ -35,6 +50,8 @@ public interface UpdateController<Model, ID> extends RequestBodyProvider {
 
     Filter getLookupFilter();
 
+    FilterSet getFilterSet();
+
     QueryService<Model> getQueryService();
 
     CommandService<Model, ID> getCommandService();
@@ -50,7 +67,7 @@ public interface UpdateController<Model, ID> extends RequestBodyProvider {
             return ResponseEntity.notFound().build();
         }
 
-        String requestBody = this.getRequestBody(request);
+        JsonNode requestBody = this.getRequestBodyTree(request, controller.getSerializer());
         Object dto = controller.getSerializer().deserialize(requestBody, this.getUpdateRequestBodyDTO(), true);
 
         return performUpdate(controller, optionalEntity.get(), dto);
@@ -58,12 +75,10 @@ public interface UpdateController<Model, ID> extends RequestBodyProvider {
 
     default ResponseEntity<ObjectNode> performUpdate(BaseGenericController controller, Object entity, Object dto) throws Throwable {
         // Update the entity fields except the lookup field
-        Model entityFromDB = this.getCommandService().update((Model) entity, dto, this.getLookupFilter().getName(), this.getUpdateRequestBodyDTO());
+        UpdateResult<Model> result = this.getCommandService().applyUpdate((Model) entity, dto, this.getLookupFilter().getName(), this.getUpdateRequestBodyDTO());
 
         // Return the updated entity
-        return ResponseEntity.status(HttpStatus.OK).body(
-                controller.getSerializer().serialize(entityFromDB, this.getUpdateResponseSerializerConfig())
-        );
+        return updatedResponse(controller, result);
     }
 
     default Optional<Object> getObject(List<SearchCriteria> searchCriteriaList) {
@@ -82,21 +97,189 @@ public interface UpdateController<Model, ID> extends RequestBodyProvider {
             return ResponseEntity.notFound().build();
         }
 
-        String requestBody = getRequestBody(request);
+        JsonNode requestBody = getRequestBodyTree(request, controller.getSerializer());
         Set<String> presentFields = controller.getSerializer().getPresentFields(requestBody);
         Object dto = controller.getSerializer().deserialize(requestBody, this.getUpdateRequestBodyDTO(), true, presentFields);
 
         return performPartialUpdate(controller, optionalEntity.get(), dto, presentFields);
     }
 
+    /**
+     * Partially updates the entities identified by the lookup field of each item of a JSON array, in a single
+     * transaction. The targets are loaded with IN queries on the lookup field, of at most
+     * {@link SearchCriteria#MAX_IN_VALUES} values each, and each item is applied with the same semantics as a single
+     * partial update. If any item is invalid or its target does not exist, nothing is updated and the errors of all
+     * failing items are returned, identified by their index in the array.
+     */
+    default ResponseEntity<BulkResponse<ObjectNode>> bulkPartialUpdate(BaseGenericController controller, HttpServletRequest request) throws Throwable {
+        JsonNode requestBody = this.getBulkRequestBody(request, controller.getSerializer());
+        String lookupName = this.getLookupFilter().getName();
+        String lookupKey = this.getLookupFilter().getModelFieldName() == null ? lookupName : this.getLookupFilter().getModelFieldName();
+        Class<?> lookupType = getLookupType(controller.getModel(), lookupKey);
+
+        List<Object> lookupValues = new ArrayList<>(requestBody.size());
+        List<Object> dtos = new ArrayList<>(requestBody.size());
+        List<Set<String>> presentFieldsList = new ArrayList<>(requestBody.size());
+        List<BulkItemError> errors = new ArrayList<>();
+        for (int index = 0; index < requestBody.size(); index++) {
+            try {
+                JsonNode item = requestBody.get(index);
+                JsonNode lookupValue = item.get(lookupName);
+                if (lookupValue == null || !lookupValue.isValueNode() || lookupValue.isNull()) {
+                    throw new ValidationException(lookupName, "This field is required.");
+                }
+                Object parsedLookupValue = parseLookupValue(lookupName, lookupValue.asText(), lookupType);
+                Set<String> presentFields = controller.getSerializer().getPresentFields(item);
+                dtos.add(controller.getSerializer().deserialize(item, this.getUpdateRequestBodyDTO(), true, presentFields));
+                presentFieldsList.add(presentFields);
+                lookupValues.add(parsedLookupValue);
+            } catch (Exception e) {
+                errors.add(toBulkItemError(index, e));
+            }
+        }
+        if (!errors.isEmpty()) {
+            return ResponseEntity.badRequest().body(new BulkResponse<>("No items were updated.", errors));
+        }
+
+        List<Object> distinctLookupValues = new ArrayList<>(new LinkedHashSet<>(lookupValues));
+        List<List<SearchCriteria>> searchCriteriaChunks = new ArrayList<>();
+        for (int from = 0; from < distinctLookupValues.size(); from += SearchCriteria.MAX_IN_VALUES) {
+            List<Object> chunk = distinctLookupValues.subList(from, Math.min(from + SearchCriteria.MAX_IN_VALUES, distinctLookupValues.size()));
+            List<SearchCriteria> searchCriteriaList = new ArrayList<>();
+            searchCriteriaList.add(new SearchCriteria(lookupKey, FilterOperation.IN, new ArrayList<>(chunk), this.getLookupFilter().getFieldType()));
+            searchCriteriaChunks.add(controller.filterByRequest(request, searchCriteriaList));
+        }
+
+        try (ReferencedEntityCache ignored = ReferencedEntityCache.open()) {
+            // Load the referenced models of all items with one query per model
+            this.getCommandService().prefetchReferences(this.getUpdateRequestBodyDTO(), dtos);
+            return updateAllInTransaction(controller, searchCriteriaChunks, lookupKey, lookupValues, dtos, presentFieldsList);
+        }
+    }
+
+    private ResponseEntity<BulkResponse<ObjectNode>> updateAllInTransaction(BaseGenericController controller, List<List<SearchCriteria>> searchCriteriaChunks,
+                                                                            String lookupKey, List<Object> lookupValues, List<Object> dtos,
+                                                                            List<Set<String>> presentFieldsList) {
+        String lookupName = this.getLookupFilter().getName();
+        List<BulkItemError> errors = new ArrayList<>();
+        return this.getCommandService().getTransactionTemplate().execute(status -> {
+            // Keyed by the lookup values read from the entities, which have the lookup attribute type like the parsed values
+            Map<Object, Model> entitiesByLookup = new HashMap<>();
+            for (List<SearchCriteria> searchCriteriaList : searchCriteriaChunks) {
+                for (Object entity : this.getQueryService().getList(searchCriteriaList)) {
+                    Object value = new BeanWrapperImpl(entity).getPropertyValue(lookupKey.replace("__", "."));
+                    entitiesByLookup.put(value, (Model) entity);
+                }
+            }
+
+            List<Model> entities = new ArrayList<>(lookupValues.size());
+            for (int index = 0; index < lookupValues.size(); index++) {
+                Model entity = entitiesByLookup.get(lookupValues.get(index));
+                if (entity == null) {
+                    errors.add(new BulkItemError(index, "Not found.", Map.of(lookupName, lookupValues.get(index) + " does not exist.")));
+                }
+                entities.add(entity);
+            }
+            if (!errors.isEmpty()) {
+                return ResponseEntity.badRequest().body(new BulkResponse<>("No items were updated.", errors));
+            }
+
+            List<ObjectNode> updatedEntities = this.getCommandService().updateAll(entities, dtos, presentFieldsList,
+                    lookupName, this.getUpdateRequestBodyDTO(), getBulkBatchSize(),
+                    entity -> controller.getSerializer().serialize(entity, getUpdateResponseSerializerConfig()));
+            return ResponseEntity.ok(new BulkResponse<>(updatedEntities, "OK"));
+        });
+    }
+
+    private static Class<?> getLookupType(Class<?> modelClass, String lookupKey) {
+        Class<?> lookupType = modelClass;
+        for (String propertyName : lookupKey.split("__")) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(lookupType, propertyName);
+            if (descriptor == null) {
+                throw new IllegalStateException("Lookup field " + lookupKey + " does not exist in " + modelClass.getSimpleName());
+            }
+            lookupType = descriptor.getPropertyType();
+        }
+        return lookupType;
+    }
+
+    /**
+     * Parses a lookup value to the lookup attribute type, the way it is parsed by the IN query loading the targets.
+     */
+    private static Object parseLookupValue(String lookupName, String lookupValue, Class<?> lookupType) {
+        try {
+            return ModelSpecification.castToAttributeType(lookupValue, lookupType);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException(lookupName, lookupValue + " is not a valid value.");
+        }
+    }
+
+    /**
+     * Applies the fields present in the request body to all records matching the filters of the request with a
+     * single UPDATE statement, without loading them. The body is validated like a partial update, and the lookup
+     * field and read-only fields are never set. At least one filter of the filter set must be present, so that a
+     * request without filters cannot update every record.
+     */
+    default ResponseEntity<CountResponse> updateByFilter(BaseGenericController controller, HttpServletRequest request) throws Throwable {
+        List<SearchCriteria> searchCriteriaList = SearchCriteria.fromUrlQuery(request, getFilterSet());
+        if (searchCriteriaList.isEmpty()) {
+            throw new BadRequestException("At least one filter is required to update by filter.");
+        }
+        searchCriteriaList = controller.filterByRequest(request, searchCriteriaList);
+
+        JsonNode requestBody = getRequestBodyTree(request, controller.getSerializer());
+        Set<String> presentFields = controller.getSerializer().getPresentFields(requestBody);
+        Object dto = controller.getSerializer().deserialize(requestBody, this.getUpdateRequestBodyDTO(), true, presentFields);
+        Map<String, Object> values = this.getCommandService().toUpdateValues(dto, this.getLookupFilter().getName(),
+                this.getUpdateRequestBodyDTO(), presentFields);
+
+        int updatedCount = this.getCommandService().updateAll(searchCriteriaList, values);
+        return ResponseEntity.ok(new CountResponse(updatedCount, "OK"));
+    }
+
     default ResponseEntity<ObjectNode> performPartialUpdate(BaseGenericController controller, Object entity, Object dto, Set<String> presentFields) throws Throwable {
         // Partially update the entity fields except the lookup field
-        Model entityFromDB = this.getCommandService().update((Model) entity, dto, this.getLookupFilter().getName(), this.getUpdateRequestBodyDTO(), presentFields);
+        UpdateResult<Model> result = this.getCommandService().applyUpdate((Model) entity, dto, this.getLookupFilter().getName(), this.getUpdateRequestBodyDTO(), presentFields);
 
         // Return the updated entity
-        return ResponseEntity.status(HttpStatus.OK).body(
-                controller.getSerializer().serialize(entityFromDB, getUpdateResponseSerializerConfig())
-        );
+        return updatedResponse(controller, result);
+    }
+
+    /**
+     * Responds with the updated entity. When the update changed nothing, the entity was not written and the
+     * response carries the {@link #UNCHANGED_HEADER} header.
+     */
+    default ResponseEntity<ObjectNode> updatedResponse(BaseGenericController controller, UpdateResult<Model> result) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.OK);
+        if (!result.isChanged()) {
+            response.header(UNCHANGED_HEADER, "true");
+        }
+        return response.body(controller.getSerializer().serialize(result.getEntity(), getUpdateResponseSerializerConfig()));
+    }
+
+    default void generateBulkUpdateSchema(Operation operation, Class<?> updateRequestBodyDTO, Class<?> updateResponseDTO) {
+        Schema<?> requestBodySchema = new ArraySchema().items(SwaggerSchemaGenerator.generateSchema(updateRequestBodyDTO, EndpointType.WRITE));
+        Content content = new Content().addMediaType("application/json", new MediaType().schema(requestBodySchema));
+        operation.requestBody(new io.swagger.v3.oas.models.parameters.RequestBody().content(content));
+        Schema<?> responseSchema = SwaggerSchemaGenerator.generatePagedResponseSchema(BulkResponse.class, updateResponseDTO, EndpointType.READ);
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
+        ApiResponse errorResponse = new ApiResponse().content(new Content().addMediaType("application/json",
+                new MediaType().schema(responseSchema)));
+        operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                .addApiResponse("200", response).addApiResponse("400", errorResponse));
+    }
+
+    default void generateUpdateByFilterSchema(Operation operation, Set<Filter> filterList, Class<?> updateRequestBodyDTO) {
+        Schema<?> requestBodySchema = SwaggerSchemaGenerator.generateSchema(updateRequestBodyDTO, EndpointType.WRITE);
+        Content content = new Content().addMediaType("application/json", new MediaType().schema(requestBodySchema));
+        operation.requestBody(new io.swagger.v3.oas.models.parameters.RequestBody().content(content));
+        SwaggerSchemaGenerator.addFilterParameters(operation, filterList);
+
+        Schema<?> responseSchema = SwaggerSchemaGenerator.generateSchema(CountResponse.class, EndpointType.READ);
+        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
+                new MediaType().schema(responseSchema)));
+        operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
+                .addApiResponse("200", response));
     }
 
     default void generateUpdateSchema(Operation operation, Filter lookupValueFilter, Class<?> updateRequestBodyDTO, Class<?> updateResponseDTO) {
@@ -111,8 +294,7 @@ public interface UpdateController<Model, ID> extends RequestBodyProvider {
         operation.requestBody(new io.swagger.v3.oas.models.parameters.RequestBody().content(content));
 
         Schema<?> responseSchema = SwaggerSchemaGenerator.generateSchema(updateResponseDTO, EndpointType.READ);
-        ApiResponse response = new ApiResponse().content(new Content().addMediaType("application/json",
-                new MediaType().schema(responseSchema)));
+        ApiResponse response = new ApiResponse().content(SwaggerSchemaGenerator.generateResponseContent(responseSchema));
         operation.responses(new io.swagger.v3.oas.models.responses.ApiResponses()
                 .addApiResponse("201", response));
     }
@@ -0,0 +1,17 @@
+package io.github.nikanique.springrestframework.web.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * The error of a single item of a bulk request, identified by its index in the request.
+ */
+@Data
+@AllArgsConstructor
+public class BulkItemError {
+    public int index;
+    public String message;
+    public Map<String, String> fields;
+}
@@ -0,0 +1,24 @@
+package io.github.nikanique.springrestframework.web.responses;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkResponse<T> {
+    public List<T> result;
+    public List<BulkItemError> errors;
+    public String message;
+
+    public BulkResponse(List<T> result, String message) {
+        this.result = result;
+        this.errors = List.of();
+        this.message = message;
+    }
+
+    public BulkResponse(String message, List<BulkItemError> errors) {
+        this.result = List.of();
+        this.errors = errors;
+        this.message = message;
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.nikanique.springrestframework.web.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * The response of set-based operations, with the number of affected records.
+ */
+@Data
+@AllArgsConstructor
+public class CountResponse {
+    private long count;
+    private String message;
+}
@@ -0,0 +1,84 @@
+package io.github.nikanique.springrestframework.dto;
+
+import io.github.nikanique.springrestframework.annotation.Expose;
+import io.github.nikanique.springrestframework.annotation.ReadOnly;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import jakarta.persistence.EntityManager;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DtoLifecycleTest {
+
+    @Test
+    void testLifecycleOfDto() throws Throwable {
+        DtoLifecycle lifecycle = DtoManager.getLifecycle(StudentDto.class);
+
+        assertNotNull(lifecycle.getValidateMethodHandle());
+        assertNotNull(lifecycle.getPartialValidateMethodHandle());
+        assertNotNull(lifecycle.getPostDeserializationMethodHandle());
+        assertSame(lifecycle, DtoManager.getLifecycle(StudentDto.class));
+
+        StudentDto dto = new StudentDto();
+        lifecycle.postDeserialization(dto, null);
+        assertTrue(dto.postDeserialized);
+    }
+
+    @Test
+    void testPostBindFixups() throws Throwable {
+        DtoLifecycle lifecycle = DtoManager.getLifecycle(CourseDto.class);
+
+        CourseDto dto = new CourseDto();
+        dto.setId(5L);
+        dto.setTitle("Math");
+        lifecycle.applyPostBindFixups(dto);
+        assertNull(dto.getId());
+        assertEquals(3, dto.getCredits());
+        assertEquals(LocalDate.of(2024, 1, 1), dto.getStartDate());
+
+        assertThrows(BadRequestException.class, () -> lifecycle.applyPostBindFixups(new CourseDto()));
+    }
+
+    @Test
+    void testLifecycleOfPlainClass() throws Throwable {
+        DtoLifecycle lifecycle = DtoManager.getLifecycle(PlainDto.class);
+
+        assertNull(lifecycle.getValidateMethodHandle());
+        assertNull(lifecycle.getPostDeserializationMethodHandle());
+        lifecycle.validate(new PlainDto(), true);
+        lifecycle.postDeserialization(new PlainDto(), null);
+    }
+
+    public static class StudentDto extends Dto {
+        private boolean postDeserialized;
+
+        @Override
+        public void postDeserialization(EntityManager entityManager) {
+            postDeserialized = true;
+        }
+    }
+
+    @Data
+    public static class CourseDto {
+        @ReadOnly
+        private Long id;
+        @Expose(isRequired = true)
+        private String title;
+        @Expose(defaultValue = "3")
+        private Integer credits;
+        @Expose(defaultValue = "2024-01-01")
+        private LocalDate startDate;
+    }
+
+    public static class PlainDto {
+        private String name;
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.nikanique.springrestframework.dto;
+
+import io.github.nikanique.springrestframework.annotation.FieldValidation;
+import io.github.nikanique.springrestframework.exceptions.ValidationException;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DtoTest {
+
+    @Test
+    void testValidate() throws Throwable {
+        StudentDto dto = new StudentDto();
+        dto.setName(" ");
+        dto.setAge(150);
+        dto.setBirthDate(Timestamp.valueOf("1899-12-31 00:00:00"));
+
+        Map<String, String> errors = dto.validate(false);
+
+        assertEquals("String length must be between 2 and 10.", errors.get("name"));
+        assertEquals("Value must be between 0 and 120.", errors.get("age"));
+        assertEquals(" date must be after 1900-01-01 00:00:00.", errors.get("birthDate"));
+        assertEquals("The parameter cannot be null.", errors.get("email"));
+    }
+
+    @Test
+    void testPartialValidate() throws Throwable {
+        StudentDto dto = new StudentDto();
+        dto.setName("Alice");
+
+        assertTrue(dto.validate(Set.of("name", "age"), true).isEmpty());
+        assertThrows(ValidationException.class, () -> dto.validate(Set.of("email"), true));
+    }
+
+    @Data
+    @EqualsAndHashCode(callSuper = false)
+    public static class StudentDto extends Dto {
+        @FieldValidation(minLength = 2, maxLength = 10)
+        private String name;
+        @FieldValidation(minValue = 0, maxValue = 120)
+        private Integer age;
+        @FieldValidation(minDate = "1900-01-01 00:00:00")
+        private java.util.Date birthDate;
+        @FieldValidation(nullable = false)
+        private String email;
+    }
+}
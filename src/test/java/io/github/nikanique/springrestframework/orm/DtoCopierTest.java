@@ -0,0 +1,65 @@
+package io.github.nikanique.springrestframework.orm;
+
+import io.github.nikanique.springrestframework.annotation.Expose;
+import io.github.nikanique.springrestframework.annotation.ReadOnly;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DtoCopierTest {
+
+    @Test
+    void testCopy() throws Throwable {
+        StudentDto dto = new StudentDto();
+        dto.setName("Alice");
+        dto.setAge(20);
+        dto.setFullName("Alice Smith");
+
+        Student student = new Student();
+        student.setId(7L);
+        new DtoCopier(StudentDto.class, Student.class, ReferenceLoading.FIND).copy(dto, student, null);
+
+        assertEquals("Alice", student.getName());
+        assertEquals(20, student.getAge());
+        assertEquals("Alice Smith", student.getTitle());
+        // Read-only fields without a value do not overwrite the entity
+        assertEquals(7L, student.getId());
+    }
+
+    @Test
+    void testCopyConvertsSourceValue() throws Throwable {
+        ConvertedDto dto = new ConvertedDto();
+        dto.setAgeText("42");
+
+        Student student = new Student();
+        new DtoCopier(ConvertedDto.class, Student.class, ReferenceLoading.FIND).copy(dto, student, null);
+
+        assertEquals(42, student.getAge());
+    }
+
+    @Data
+    public static class StudentDto {
+        @ReadOnly
+        private Long id;
+        private String name;
+        private int age;
+        @Expose(source = "title")
+        private String fullName;
+    }
+
+    @Data
+    public static class ConvertedDto {
+        @Expose(source = "age")
+        private String ageText;
+    }
+
+    @Data
+    public static class Student {
+        private Long id;
+        private String name;
+        private int age;
+        private String title;
+    }
+}
@@ -0,0 +1,42 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CsvWriterTest {
+
+    @Test
+    void testWriteRows() throws Exception {
+        SerializerConfig serializerConfig = new SerializerConfig()
+                .addField("title")
+                .addField("teacher")
+                .addField("teacher__name")
+                .addField("students")
+                .addField("students__name");
+        ObjectNode row = (ObjectNode) new ObjectMapper().readTree(
+                "{\"title\":\"Math, advanced\",\"teacher\":{\"name\":\"Smith\"},\"students\":[{\"name\":\"Alice\"},{\"name\":\"Bob\"}]}");
+
+        StringWriter writer = new StringWriter();
+        CsvWriter csvWriter = new CsvWriter(writer, serializerConfig.getPlan());
+        csvWriter.writeHeader();
+        csvWriter.writeRow(row);
+
+        String[] lines = writer.toString().split("\r\n");
+        String[] header = lines[0].split(",");
+        assertEquals(3, header.length);
+        for (int i = 0; i < header.length; i++) {
+            String value = switch (header[i]) {
+                case "title" -> "\"Math, advanced\"";
+                case "teacher__name" -> "Smith";
+                case "students__name" -> "\"[\"\"Alice\"\",\"\"Bob\"\"]\"";
+                default -> throw new AssertionError(header[i]);
+            };
+            assertEquals(value, lines[1].split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)")[i]);
+        }
+    }
+}
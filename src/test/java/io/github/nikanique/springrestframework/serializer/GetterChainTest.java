@@ -0,0 +1,51 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class GetterChainTest {
+
+    @Test
+    void testNestedValue() throws Throwable {
+        GetterChain getterChain = new GetterChain(new String[]{"course", "title"});
+        assertEquals("Math", getterChain.get(new Student(new Course("Math"))));
+    }
+
+    @Test
+    void testNullIntermediateValue() throws Throwable {
+        GetterChain getterChain = new GetterChain(new String[]{"course", "title"});
+        assertNull(getterChain.get(new Student(null)));
+    }
+
+    @Test
+    void testMissingGetter() throws Throwable {
+        GetterChain getterChain = new GetterChain(new String[]{"course", "teacher"});
+        assertNull(getterChain.get(new Student(new Course("Math"))));
+    }
+
+    public static class Student {
+        private final Course course;
+
+        public Student(Course course) {
+            this.course = course;
+        }
+
+        public Course getCourse() {
+            return course;
+        }
+    }
+
+    public static class Course {
+        private final String title;
+
+        public Course(String title) {
+            this.title = title;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+    }
+}
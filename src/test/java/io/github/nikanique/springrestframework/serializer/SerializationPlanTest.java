@@ -0,0 +1,129 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import io.github.nikanique.springrestframework.common.FieldType;
+import io.github.nikanique.springrestframework.exceptions.ValidationException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SerializationPlanTest {
+
+    @Test
+    void testCompileNestedFields() {
+        HashMap<String, FieldDescriptor> fields = new HashMap<>();
+        fields.put("name", new FieldDescriptor(FieldType.STRING, "name", null, null, "name"));
+        fields.put("course", new FieldDescriptor(null, "course", null, null, "course"));
+        fields.put("course__title", new FieldDescriptor(FieldType.STRING, "title", null, null, "title"));
+        fields.put("course__teacher", new FieldDescriptor(FieldType.STRING, "teacher", null, null, "teacher__name"));
+
+        SerializationPlan plan = SerializationPlan.compile(fields);
+
+        assertEquals(2, plan.getNodes().length);
+        SerializationNode course = null;
+        for (SerializationNode node : plan.getNodes()) {
+            if (node.getName().equals("course")) {
+                course = node;
+            } else {
+                assertTrue(node.getChildren().isEmpty());
+            }
+        }
+        assertEquals(2, course.getChildren().getNodes().length);
+        for (SerializationNode node : course.getChildren().getNodes()) {
+            if (node.getName().equals("teacher")) {
+                assertArrayEquals(new String[]{"teacher", "name"}, node.getSourcePath());
+            }
+        }
+    }
+
+    @Test
+    void testSourcePaths() {
+        HashMap<String, FieldDescriptor> fields = new HashMap<>();
+        fields.put("course", new FieldDescriptor(null, "course", null, null, "course"));
+        fields.put("course__teacher", new FieldDescriptor(FieldType.STRING, "teacher", null, null, "teacher__name"));
+
+        List<String> sourcePaths = SerializationPlan.compile(fields).getSourcePaths();
+
+        assertEquals(List.of("course", "course__teacher__name"), sourcePaths);
+    }
+
+    @Test
+    void testCompileFieldWithoutDescriptor() {
+        SerializerConfig serializerConfig = new SerializerConfig().addField("title");
+
+        SerializationNode node = serializerConfig.getPlan().getNodes()[0];
+        assertEquals("title", node.getName());
+        assertArrayEquals(new String[]{"title"}, node.getSourcePath());
+    }
+
+    @Test
+    void testSelectFields() {
+        SerializerConfig serializerConfig = new SerializerConfig()
+                .addField("name")
+                .addField("course")
+                .addField("course__title")
+                .addField("course__credits");
+
+        SerializerConfig selection = serializerConfig.select(Set.of("course__title"), Collections.emptySet());
+        assertEquals(Set.of("course", "course__title"), selection.getFields().keySet());
+        SerializationPlan plan = selection.getPlan();
+        assertEquals(1, plan.getNodes().length);
+        assertEquals("course", plan.getNodes()[0].getName());
+        assertEquals(1, plan.getNodes()[0].getChildren().getNodes().length);
+        assertEquals("title", plan.getNodes()[0].getChildren().getNodes()[0].getName());
+
+        selection = serializerConfig.select(Collections.emptySet(), Set.of("name", "course__credits"));
+        assertEquals(Set.of("course", "course__title"), selection.getFields().keySet());
+        plan = selection.getPlan();
+        assertEquals(1, plan.getNodes().length);
+        assertEquals("title", plan.getNodes()[0].getChildren().getNodes()[0].getName());
+
+        assertSame(serializerConfig.select(Set.of("name"), Collections.emptySet()), serializerConfig.select(Set.of("name"), Collections.emptySet()));
+        assertThrows(ValidationException.class, () -> serializerConfig.select(Set.of("course__teacher"), Collections.emptySet()));
+    }
+
+    @Test
+    void testSelectRenamedField() {
+        SerializerConfig serializerConfig = new SerializerConfig()
+                .addField("name")
+                .addField("courseTitle", new FieldDescriptor("title"));
+
+        SerializerConfig selection = serializerConfig.select(Set.of("title"), Collections.emptySet());
+        assertEquals(Set.of("courseTitle"), selection.getFields().keySet());
+        assertEquals(1, selection.getPlan().getNodes().length);
+        assertEquals("title", selection.getPlan().getNodes()[0].getName());
+
+        selection = serializerConfig.select(Collections.emptySet(), Set.of("title"));
+        assertEquals(Set.of("name"), selection.getFields().keySet());
+        assertThrows(ValidationException.class, () -> serializerConfig.select(Set.of("courseTitle"), Collections.emptySet()));
+    }
+
+    @Test
+    void testSharedDtoInTwoBranches() {
+        HashMap<String, FieldDescriptor> fields = ClassStructureExtractor.extractStructure(EnrollmentDto.class);
+
+        assertTrue(fields.containsKey("student__name"));
+        assertTrue(fields.containsKey("mentor__name"));
+        assertTrue(fields.containsKey("mentor__mentor"));
+        assertFalse(fields.containsKey("mentor__mentor__name"));
+    }
+
+    public static class EnrollmentDto {
+        private PersonDto student;
+        private PersonDto mentor;
+    }
+
+    public static class PersonDto {
+        private String name;
+        private PersonDto mentor;
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.nikanique.springrestframework.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.nikanique.springrestframework.annotation.Expose;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SerializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Serializer serializer = new Serializer(objectMapper, null);
+
+    @Test
+    void testSerialize() {
+        ObjectNode serializedData = serializer.serialize(sampleCourse(), SerializerConfig.fromDTO(CourseDto.class));
+
+        assertEquals("Math", serializedData.get("title").asText());
+        assertEquals("Smith", serializedData.get("teacherName").asText());
+        assertEquals(2, serializedData.get("students").size());
+        assertEquals("Alice", serializedData.get("students").get(0).get("name").asText());
+    }
+
+    @Test
+    void testStreamingSerializeMatchesTree() throws Exception {
+        SerializerConfig serializerConfig = SerializerConfig.fromDTO(CourseDto.class);
+        ObjectNode serializedData = serializer.serialize(sampleCourse(), serializerConfig);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        try (JsonGenerator generator = serializer.createGenerator(outputStream)) {
+            serializer.serialize(sampleCourse(), serializerConfig, generator);
+        }
+
+        assertEquals(objectMapper.writeValueAsString(serializedData), outputStream.toString());
+    }
+
+    @Test
+    void testExtractedStructureIsCopied() {
+        ClassStructureExtractor.extractStructure(CourseDto.class).get("title").setMethodName("com.example.Masker.mask");
+
+        assertNull(ClassStructureExtractor.extractStructure(CourseDto.class).get("title").getMethodName());
+        assertEquals("Math", serializer.serialize(sampleCourse(), SerializerConfig.fromDTO(CourseDto.class)).get("title").asText());
+    }
+
+    @Test
+    void testParallelSerializePreservesOrder() {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Course course = sampleCourse();
+            course.setTitle("Course " + i);
+            courses.add(course);
+        }
+
+        List<ObjectNode> serializedData = serializer.serialize(courses, SerializerConfig.fromDTO(CourseDto.class), 10);
+
+        assertEquals(100, serializedData.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("Course " + i, serializedData.get(i).get("title").asText());
+        }
+    }
+
+    @Test
+    void testNegotiateMediaType() {
+        assertEquals(Serializer.JSON_MEDIA_TYPE, serializer.negotiateMediaType(null));
+        assertEquals(Serializer.JSON_MEDIA_TYPE, serializer.negotiateMediaType("*/*"));
+        assertEquals(Serializer.CBOR_MEDIA_TYPE, serializer.negotiateMediaType("application/cbor, application/json;q=0.5"));
+        assertEquals(Serializer.SMILE_MEDIA_TYPE, serializer.negotiateMediaType("application/x-jackson-smile"));
+        assertEquals(Serializer.CBOR_MEDIA_TYPE, serializer.negotiateMediaType("application/json;q=0.1, application/cbor"));
+        assertEquals(Serializer.JSON_MEDIA_TYPE, serializer.negotiateMediaType("application/cbor;q=0.5, application/json;q=0.9"));
+    }
+
+    @Test
+    void testTransformerMethod() {
+        ObjectNode serializedData = serializer.serialize(sampleCourse(), SerializerConfig.fromDTO(MaskedCourseDto.class));
+
+        assertEquals("M***", serializedData.get("title").asText());
+    }
+
+    @Test
+    void testFormattedValues() {
+        Invoice invoice = new Invoice(Instant.parse("2024-07-01T12:00:00Z"), new BigDecimal("1234.5"), InvoiceStatus.PAID);
+
+        ObjectNode serializedData = serializer.serialize(invoice, SerializerConfig.fromDTO(InvoiceDto.class));
+
+        assertEquals("2024", serializedData.get("created").asText());
+        assertEquals("1,234.50", serializedData.get("amount").asText());
+        assertEquals("PAID", serializedData.get("status").asText());
+    }
+
+    @Test
+    void testMissingTransformerMethod() {
+        assertThrows(IllegalArgumentException.class, () -> SerializerConfig.fromDTO(InvalidCourseDto.class));
+    }
+
+    private Course sampleCourse() {
+        Course course = new Course();
+        course.setTitle("Math");
+        course.setTeacher(new Teacher("Smith"));
+        course.setStudents(List.of(new Student("Alice"), new Student("Bob")));
+        return course;
+    }
+
+    public static class CourseDto {
+        private String title;
+        @Expose(source = "teacher__name")
+        private String teacherName;
+        private List<StudentDto> students;
+    }
+
+    public static class MaskedCourseDto {
+        @Expose(methodName = "mask")
+        private String title;
+
+        public static Object mask(Object value) {
+            return value.toString().charAt(0) + "***";
+        }
+    }
+
+    public static class InvalidCourseDto {
+        @Expose(methodName = "mask")
+        private String title;
+    }
+
+    public static class StudentDto {
+        private String name;
+    }
+
+    public static class InvoiceDto {
+        @Expose(format = "yyyy")
+        private Instant created;
+        @Expose(format = "#,##0.00")
+        private BigDecimal amount;
+        private InvoiceStatus status;
+    }
+
+    public enum InvoiceStatus {
+        PAID
+    }
+
+    public record Invoice(Instant created, BigDecimal amount, InvoiceStatus status) {
+        public Instant getCreated() {
+            return created;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public InvoiceStatus getStatus() {
+            return status;
+        }
+    }
+
+    public static class Course {
+        private String title;
+        private Teacher teacher;
+        private List<Student> students;
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public Teacher getTeacher() {
+            return teacher;
+        }
+
+        public void setTeacher(Teacher teacher) {
+            this.teacher = teacher;
+        }
+
+        public List<Student> getStudents() {
+            return students;
+        }
+
+        public void setStudents(List<Student> students) {
+            this.students = students;
+        }
+    }
+
+    public record Teacher(String name) {
+        public String getName() {
+            return name;
+        }
+    }
+
+    public record Student(String name) {
+        public String getName() {
+            return name;
+        }
+    }
+}
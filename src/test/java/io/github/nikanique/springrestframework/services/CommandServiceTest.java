@@ -0,0 +1,109 @@
+package io.github.nikanique.springrestframework.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nikanique.springrestframework.exceptions.BadRequestException;
+import io.github.nikanique.springrestframework.filter.FilterOperation;
+import io.github.nikanique.springrestframework.orm.SearchCriteria;
+import io.github.nikanique.springrestframework.orm.SpecificationsBuilder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.Metamodel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class CommandServiceTest {
+
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final SpecificationsBuilder specificationsBuilder = mock(SpecificationsBuilder.class);
+    private final CriteriaBuilder criteriaBuilder = mock(CriteriaBuilder.class);
+    private final CriteriaDelete<Student> delete = mock(CriteriaDelete.class);
+    private final CriteriaUpdate<Student> update = mock(CriteriaUpdate.class);
+    private CommandService<Student, Long> commandService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationContext springContext = mock(ApplicationContext.class);
+        when(springContext.getBean(ObjectMapper.class)).thenReturn(new ObjectMapper());
+        when(springContext.getBean(EntityManager.class)).thenReturn(entityManager);
+        when(springContext.getBean(SpecificationsBuilder.class)).thenReturn(specificationsBuilder);
+        when(springContext.getBean(PlatformTransactionManager.class)).thenReturn(mock(PlatformTransactionManager.class));
+        when(springContext.getEnvironment()).thenReturn(new MockEnvironment());
+        commandService = new CommandService<>(Student.class, mock(JpaRepository.class), springContext);
+
+        Metamodel metamodel = mock(Metamodel.class);
+        EntityType<Student> entityType = mock(EntityType.class);
+        Attribute attribute = mock(Attribute.class);
+        when(entityManager.getMetamodel()).thenReturn(metamodel);
+        when(metamodel.entity(Student.class)).thenReturn(entityType);
+        when(entityType.getAttribute(any())).thenReturn(attribute);
+        when(entityManager.getCriteriaBuilder()).thenReturn(criteriaBuilder);
+        when(criteriaBuilder.createCriteriaDelete(Student.class)).thenReturn(delete);
+        when(delete.from(Student.class)).thenReturn(mock(Root.class));
+        when(criteriaBuilder.createCriteriaUpdate(Student.class)).thenReturn(update);
+        when(update.from(Student.class)).thenReturn(mock(Root.class));
+    }
+
+    @Test
+    void testDeleteAllRejectsCriteriaWithoutPredicate() {
+        SearchCriteria name = new SearchCriteria("name", FilterOperation.EQUAL, "Alice", null);
+        SearchCriteria age = new SearchCriteria("age", FilterOperation.CONTAINS, 1, null);
+        when(specificationsBuilder.fromSearchCriteria(name)).thenReturn((Specification) (root, query, builder) -> mock(Predicate.class));
+        when(specificationsBuilder.fromSearchCriteria(age)).thenReturn((Specification) (root, query, builder) -> null);
+
+        assertThrows(BadRequestException.class, () -> commandService.deleteAll(List.of(name, age)));
+        verify(entityManager, never()).createQuery(any(CriteriaDelete.class));
+    }
+
+    @Test
+    void testDeleteAllRefusesStatementWithoutRestriction() {
+        SearchCriteria name = new SearchCriteria("name", FilterOperation.EQUAL, "Alice", null);
+        when(specificationsBuilder.fromSearchCriteria(name)).thenReturn((Specification) (root, query, builder) -> mock(Predicate.class));
+
+        assertThrows(IllegalStateException.class, () -> commandService.deleteAll(List.of(name)));
+        verify(entityManager, never()).createQuery(any(CriteriaDelete.class));
+    }
+
+    @Test
+    void testDeleteAllRejectsEmptyCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> commandService.deleteAll(List.of()));
+    }
+
+    @Test
+    void testUpdateAllRejectsCriteriaWithoutPredicate() {
+        SearchCriteria age = new SearchCriteria("age", FilterOperation.CONTAINS, 1, null);
+        when(specificationsBuilder.fromSearchCriteria(age)).thenReturn((Specification) (root, query, builder) -> null);
+
+        assertThrows(BadRequestException.class, () -> commandService.updateAll(List.of(age), Map.of("name", "Bob")));
+        verify(entityManager, never()).createQuery(any(CriteriaUpdate.class));
+    }
+
+    @Test
+    void testUpdateAllRejectsEmptyValues() {
+        SearchCriteria name = new SearchCriteria("name", FilterOperation.EQUAL, "Alice", null);
+
+        assertThrows(BadRequestException.class, () -> commandService.updateAll(List.of(name), Map.of()));
+        verify(entityManager, never()).createQuery(any(CriteriaUpdate.class));
+    }
+
+    public static class Student {
+    }
+}
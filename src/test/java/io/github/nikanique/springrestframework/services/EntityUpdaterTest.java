@@ -0,0 +1,125 @@
+package io.github.nikanique.springrestframework.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nikanique.springrestframework.annotation.Expose;
+import io.github.nikanique.springrestframework.annotation.ReadOnly;
+import io.github.nikanique.springrestframework.annotation.ReferencedModel;
+import io.github.nikanique.springrestframework.common.ReferenceLoading;
+import jakarta.persistence.EntityManager;
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class EntityUpdaterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final EntityUpdater entityUpdater = new EntityUpdater(StudentDto.class, Student.class, ReferenceLoading.FIND);
+
+    @Test
+    void testUpdate() throws Throwable {
+        Student student = sampleStudent();
+        StudentDto dto = new StudentDto();
+        dto.setId(9L);
+        dto.setFullName("Bob Smith");
+
+        entityUpdater.update(student, dto, "id", null, objectMapper);
+
+        assertEquals(1L, student.getId());
+        assertEquals("Bob Smith", student.getTitle());
+        assertNull(student.getName());
+    }
+
+    @Test
+    void testPartialUpdate() throws Throwable {
+        Student student = sampleStudent();
+        StudentDto dto = new StudentDto();
+        dto.setName("Bob");
+
+        entityUpdater.partialUpdate(student, dto, "id", Set.of("name"), null, objectMapper);
+
+        assertEquals("Bob", student.getName());
+        assertEquals("Alice Smith", student.getTitle());
+        assertEquals("2020", student.getCreatedAt());
+    }
+
+    @Test
+    void testUnchangedUpdate() throws Throwable {
+        Student student = sampleStudent();
+        StudentDto dto = new StudentDto();
+        dto.setName("Alice");
+        dto.setFullName("Alice Smith");
+
+        assertFalse(entityUpdater.partialUpdate(student, dto, "id", Set.of("name", "fullName"), null, objectMapper));
+        dto.setName("Bob");
+        assertTrue(entityUpdater.partialUpdate(student, dto, "id", Set.of("name", "fullName"), null, objectMapper));
+    }
+
+    @Test
+    void testUnchangedTimestamp() throws Throwable {
+        Student student = sampleStudent();
+        student.setEnrolledAt(new Timestamp(1700000000123L));
+        StudentDto dto = new StudentDto();
+        dto.setEnrolledAt(new Date(1700000000123L));
+
+        assertFalse(entityUpdater.partialUpdate(student, dto, "id", Set.of("enrolledAt"), null, objectMapper));
+    }
+
+    @Test
+    void testUnchangedReference() throws Throwable {
+        Student student = sampleStudent();
+        Course course = new Course();
+        student.setCourse(course);
+        EntityManager entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        when(entityManager.getMetamodel().entity(Course.class).getIdType().getJavaType()).thenReturn((Class) Long.class);
+        when(entityManager.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(course)).thenReturn(5L);
+        StudentDto dto = new StudentDto();
+        dto.setCourseId(5);
+
+        assertFalse(entityUpdater.partialUpdate(student, dto, "id", Set.of("courseId"), entityManager, objectMapper));
+        assertSame(course, student.getCourse());
+    }
+
+    private Student sampleStudent() {
+        Student student = new Student();
+        student.setId(1L);
+        student.setName("Alice");
+        student.setTitle("Alice Smith");
+        student.setCreatedAt("2020");
+        return student;
+    }
+
+    @Data
+    public static class StudentDto {
+        private Long id;
+        private String name;
+        @Expose(source = "title")
+        private String fullName;
+        @ReadOnly
+        private String createdAt;
+        private Date enrolledAt;
+        @ReferencedModel(model = "io.github.nikanique.springrestframework.services.EntityUpdaterTest$Course", referencingField = "course")
+        private Integer courseId;
+    }
+
+    @Data
+    public static class Student {
+        private Long id;
+        private String name;
+        private String title;
+        private String createdAt;
+        private Date enrolledAt;
+        private Course course;
+    }
+
+    @Data
+    public static class Course {
+        private Long id;
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.nikanique.springrestframework.utilities;
+
+import io.github.nikanique.springrestframework.exceptions.PayloadTooLargeException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SizeLimitedInputStreamTest {
+
+    @Test
+    void testReadWithinLimit() throws Exception {
+        byte[] body = "{\"name\":\"line1\\nline2\"}".getBytes(StandardCharsets.UTF_8);
+        SizeLimitedInputStream inputStream = new SizeLimitedInputStream(new ByteArrayInputStream(body), body.length);
+
+        assertEquals(body.length, inputStream.readAllBytes().length);
+    }
+
+    @Test
+    void testReadOverLimit() {
+        byte[] body = new byte[100];
+        SizeLimitedInputStream inputStream = new SizeLimitedInputStream(new ByteArrayInputStream(body), 99);
+
+        assertThrows(PayloadTooLargeException.class, inputStream::readAllBytes);
+    }
+}
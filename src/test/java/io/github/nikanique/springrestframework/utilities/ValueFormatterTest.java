@@ -0,0 +1,56 @@
+package io.github.nikanique.springrestframework.utilities;
+
+import io.github.nikanique.springrestframework.common.FieldType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ValueFormatterTest {
+
+    @Test
+    void testFormatDate() {
+        CompiledFormatter formatter = ValueFormatter.compile(java.util.Date.class, "yyyy/MM/dd HH:mm");
+        java.util.Date date = new GregorianCalendar(2024, Calendar.MARCH, 5, 14, 30).getTime();
+        assertEquals("2024/03/05 14:30", formatter.format(date));
+    }
+
+    @Test
+    void testFormatDateWithSimpleDateFormatPattern() {
+        java.util.Date date = new GregorianCalendar(2024, Calendar.MARCH, 5, 14, 30).getTime();
+        // "u" is the day number of the week in SimpleDateFormat, and the year in DateTimeFormatter
+        assertEquals("2", ValueFormatter.compile(java.util.Date.class, "u").format(date));
+        assertEquals("2024-03-05", ValueFormatter.compile(java.sql.Date.class, "yyyy-MM-dd").format(new java.sql.Date(date.getTime())));
+    }
+
+    @Test
+    void testFormatLocalDateAndLocalDateTime() {
+        assertEquals("05.03.2024", ValueFormatter.compile(LocalDate.class, "dd.MM.yyyy").format(LocalDate.of(2024, 3, 5)));
+        assertEquals("2024-03-05 14:30",
+                ValueFormatter.compile(LocalDateTime.class, "yyyy-MM-dd HH:mm").format(LocalDateTime.of(2024, 3, 5, 14, 30)));
+    }
+
+    @Test
+    void testFormatNumbers() {
+        assertEquals("1,234,567", ValueFormatter.compile(long.class, "#,###").format(1234567L));
+        assertEquals("1,234.50", ValueFormatter.compile(Double.class, "#,##0.00").format(1234.5));
+        assertEquals(3.14, ValueFormatter.compile(FieldType.DOUBLE, "{.2f}").format(3.14159));
+    }
+
+    @Test
+    void testNoFormat() {
+        assertSame(CompiledFormatter.NONE, ValueFormatter.compile(Integer.class, null));
+        assertEquals("text", ValueFormatter.compile(String.class, "#,###").format("text"));
+    }
+
+    @Test
+    void testInvalidPattern() {
+        assertThrows(IllegalArgumentException.class, () -> ValueFormatter.compile(LocalDate.class, "yyyy-MM-dd{"));
+    }
+}